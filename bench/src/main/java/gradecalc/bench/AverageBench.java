@@ -0,0 +1,51 @@
+package gradecalc.bench;
+
+import gradecalc.core.GradeKernels;
+import gradecalc.core.GradeStore;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average of a grade column: the O(1) running mean both calculators read,
+ * against a full recomputation over the column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AverageBench {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    GradeStore store;
+    short[] column;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        store = new GradeStore(size);
+        column = new short[size];
+        for (int i = 0; i < size; i++) {
+            int fixed = rnd.nextInt(GradeStore.MAX_FIXED + 1);
+            store.addFixed(fixed);
+            column[i] = (short) fixed;
+        }
+    }
+
+    /** What {@code calculateAverage()} and the Swing header read. */
+    @Benchmark
+    public double mean() {
+        return store.mean();
+    }
+
+    @Benchmark
+    public long recomputeSum() {
+        return GradeKernels.summarize(column, 0, size).sum;
+    }
+}
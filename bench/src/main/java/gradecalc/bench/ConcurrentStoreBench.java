@@ -0,0 +1,66 @@
+package gradecalc.bench;
+
+import gradecalc.core.ConcurrentGradeStore;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append throughput of {@link ConcurrentGradeStore}. Run with {@code -t N}
+ * for N producers to check scaling; the {@code mixed} group adds a reader
+ * taking snapshots while three producers append.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentStoreBench {
+
+    ConcurrentGradeStore store;
+
+    // A fresh store per iteration keeps the retained column bounded
+    @Setup(Level.Iteration)
+    public void setup() {
+        store = new ConcurrentGradeStore();
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        ConcurrentGradeStore.Appender appender;
+        ConcurrentGradeStore owner;
+        int next;
+
+        int nextGrade(ConcurrentGradeStore store) {
+            if (owner != store) {
+                owner = store;
+                appender = store.appender();
+            }
+            next = next == 10_000 ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public void append(Producer p) {
+        int grade = p.nextGrade(store);
+        p.appender.addFixed(grade);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedAppend(Producer p) {
+        int grade = p.nextGrade(store);
+        p.appender.addFixed(grade);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public long mixedSnapshot() {
+        return store.snapshot().sumFixed();
+    }
+}
@@ -0,0 +1,72 @@
+package gradecalc.bench;
+
+import gradecalc.core.GradingScale;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Letter and GPA lookups over a spread of averages, one call per average,
+ * and branch-free bulk classification of a score column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingScaleBench {
+
+    private static final int AVERAGES = 1024;
+
+    private static final int SCORES = 1 << 20;
+
+    double[] averages;
+    short[] scores;
+    byte[] bands;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        averages = new double[AVERAGES];
+        for (int i = 0; i < AVERAGES; i++) averages[i] = rnd.nextInt(10001) / 100.0;
+        scores = new short[SCORES];
+        for (int i = 0; i < SCORES; i++) scores[i] = (short) rnd.nextInt(10001);
+        bands = new byte[SCORES];
+    }
+
+    /** The console calculator's {@code getLetterGrade}. */
+    @Benchmark
+    @OperationsPerInvocation(AVERAGES)
+    public void basicLetter(Blackhole bh) {
+        for (double avg : averages) bh.consume(GradingScale.BASIC.letterOf(avg));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AVERAGES)
+    public void letterOf(Blackhole bh) {
+        for (double avg : averages) bh.consume(GradingScale.PLUS_MINUS.letterOf(avg));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AVERAGES)
+    public void toGpa(Blackhole bh) {
+        for (double avg : averages) bh.consume(GradingScale.PLUS_MINUS.gpaOf(avg));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public byte[] classify() {
+        GradingScale.PLUS_MINUS.classify(scores, 0, SCORES, bands, 0);
+        return bands;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public double meanPoints() {
+        return GradingScale.PLUS_MINUS.meanPoints(scores, 0, SCORES);
+    }
+}
@@ -0,0 +1,70 @@
+package gradecalc.bench;
+
+import gradecalc.core.GradeParser;
+import gradecalc.core.GradeStore;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Segment;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Swing calculator's {@code addGradesFromArea} path: scan the text
+ * area's document through a {@link Segment} into a fresh grade store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBench {
+
+    @Param({"100", "100000"})
+    int grades;
+
+    PlainDocument document;
+    String text;
+
+    @Setup
+    public void setup() throws BadLocationException {
+        SplittableRandom rnd = new SplittableRandom(42);
+        StringBuilder sb = new StringBuilder(grades * 7);
+        for (int i = 0; i < grades; i++) {
+            int fixed = rnd.nextInt(GradeStore.MAX_FIXED + 1);
+            sb.append(fixed / 100);
+            if (fixed % 100 != 0) sb.append('.').append(fixed % 100);
+            sb.append(i % 8 == 7 ? "\n" : ", ");
+        }
+        text = sb.toString();
+        document = new PlainDocument();
+        document.insertString(0, text, null);
+    }
+
+    @Benchmark
+    public GradeStore document() throws BadLocationException {
+        GradeStore store = new GradeStore();
+        GradeParser parser = new GradeParser(store::addFixed);
+        Segment seg = new Segment();
+        seg.setPartialReturn(true);
+        int offset = 0, length = document.getLength();
+        while (offset < length) {
+            document.getText(offset, length - offset, seg);
+            parser.feed(seg, 0, seg.count);
+            offset += seg.count;
+        }
+        parser.finish();
+        return store;
+    }
+
+    @Benchmark
+    public GradeStore string() {
+        GradeStore store = new GradeStore();
+        new GradeParser(store::addFixed).feed(text).finish();
+        return store;
+    }
+}
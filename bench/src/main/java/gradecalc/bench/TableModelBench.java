@@ -0,0 +1,46 @@
+package gradecalc.bench;
+
+import gradecalc.core.GradeStore;
+import gradecalc.swing.GradeTableModel;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GradeTableModel#getValueAt} as a JTable calls it while painting:
+ * every cell of a 40-row viewport, scrolled through a large store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableModelBench {
+
+    private static final int ROWS = 100_000, VIEWPORT = 40;
+
+    GradeTableModel model;
+    int top;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        GradeStore store = new GradeStore(ROWS);
+        for (int i = 0; i < ROWS; i++) store.addFixed(rnd.nextInt(GradeStore.MAX_FIXED + 1));
+        model = new GradeTableModel(store);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIEWPORT)
+    public void viewport(Blackhole bh) {
+        int columns = model.getColumnCount();
+        for (int r = top; r < top + VIEWPORT; r++) {
+            for (int c = 0; c < columns; c++) bh.consume(model.getValueAt(r, c));
+        }
+        top = (top + VIEWPORT) % (ROWS - VIEWPORT);
+    }
+}
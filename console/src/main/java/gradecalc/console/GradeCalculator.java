@@ -0,0 +1,619 @@
+package gradecalc.console;
+
+import gradecalc.core.CategoryScheme;
+import gradecalc.core.GradeCategories;
+import gradecalc.core.GradeDistribution;
+import gradecalc.core.GradeEvents;
+import gradecalc.core.GradeExport;
+import gradecalc.core.GradeParser;
+import gradecalc.core.GradePersistence;
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradingScale;
+
+import javax.swing.*;
+import java.text.DecimalFormat;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Scanner;
+
+public class GradeCalculator {
+    private static GradeStore grades;               // set by openStorage, in the modes that keep grades
+    private static DecimalFormat df = new DecimalFormat("#.##");
+    private static GradePersistence storage;
+    private static GradeCategories categories;      // null unless grades.categories is set
+    private static GradePersistence tagStorage;
+    private static GradingScale scale = GradingScale.BASIC;
+    private static final int DEFAULT_PORT = 8251;
+    private static final String USAGE = """
+            Usage: java -jar grade-console.jar [option]
+              (none)                        interactive calculator
+              --batch [file... | -]         summarise grades from files or stdin; commas, spaces and
+                                            other non-digits separate grades, and only '.' is a
+                                            decimal point (90,80,70 is three grades)
+              --serve [port]                local HTTP API, port %d by default
+              --export <file.csv|file.json> write the saved grades and their summary
+            """.formatted(DEFAULT_PORT);
+
+    public static void main(String[] args) {
+        loadScale();
+
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.println(USAGE);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int port = args.length > 1 ? parsePort(args[1]) : DEFAULT_PORT;
+            if (port < 0) {
+                System.err.println("Usage: --serve [port], where port is a number from 1 to 65535");
+                System.exit(2);
+            }
+            runServer(port);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--export")) {
+            if (args.length < 2) {
+                System.err.println("Usage: --export <file.csv|file.json>");
+                System.exit(2);
+            }
+            runExport(Path.of(args[1]));
+            return;
+        }
+
+        openStorage();
+
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("Running in headless mode (no GUI). Falling back to console UI.\n");
+            runConsole();
+            closeStorage();
+            return;
+        }
+
+        // ---- GUI path ----
+        showWelcomeMessage();
+
+        int choice;
+        do {
+            choice = showMenu();
+            processChoice(choice);
+        } while (choice != 5);
+
+        showGoodbyeMessage();
+        closeStorage();
+    }
+
+    // ===================== GUI IMPLEMENTATION (JOptionPane) =====================
+
+    private static void showWelcomeMessage() {
+        JOptionPane.showMessageDialog(null,
+            "Welcome to the Grade Calculator System!\n\n" +
+            "This program will help you track your grades\n" +
+            "and calculate your current average.",
+            "Grade Calculator",
+            JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static int showMenu() {
+        String menu = """
+                Grade Calculator Menu
+                =====================
+
+                1. Add a Grade
+                2. View Current Average
+                3. View Letter Grade
+                4. View Distribution
+                5. Exit
+
+                Please enter your choice (1-5):
+                """;
+
+        int choice = 0;
+        boolean validChoice = false;
+
+        while (!validChoice) {
+            try {
+                String input = JOptionPane.showInputDialog(null, menu,
+                        "Grade Calculator Menu", JOptionPane.QUESTION_MESSAGE);
+
+                if (input == null) {
+                    choice = 5; // Treat cancel as exit
+                    validChoice = true;
+                } else {
+                    choice = Integer.parseInt(input.trim());
+                    if (choice >= 1 && choice <= 5) {
+                        validChoice = true;
+                    } else {
+                        JOptionPane.showMessageDialog(null,
+                                "Please enter a number between 1 and 5.",
+                                "Invalid Choice", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(null,
+                        "Please enter a valid number.",
+                        "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        return choice;
+    }
+
+    private static void processChoice(int choice) {
+        switch (choice) {
+            case 1 -> addGrade();
+            case 2 -> viewAverage();
+            case 3 -> viewLetterGrade();
+            case 4 -> viewDistribution();
+            case 5 -> { /* exit */ }
+            default -> JOptionPane.showMessageDialog(null,
+                    "Invalid choice. Please try again.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static void addGrade() {
+        if (categories != null) {
+            CategoryScheme scheme = categories.scheme();
+            String[] names = new String[scheme.size()];
+            for (int c = 0; c < names.length; c++) names[c] = scheme.categoryName(c);
+            Object picked = JOptionPane.showInputDialog(null, "Add grades to which category?", "Add Grade",
+                    JOptionPane.QUESTION_MESSAGE, null, names, names[categories.current()]);
+            if (picked == null) return; // cancel
+            categories.setCurrent(scheme.indexOf((String) picked));
+        }
+        while (true) {
+            String input = JOptionPane.showInputDialog(
+                    null,
+                    "Enter a grade (0–100). Click Cancel to stop.",
+                    "Add Grade",
+                    JOptionPane.QUESTION_MESSAGE
+            );
+
+            if (input == null) return; // cancel
+
+            try {
+                double grade = Double.parseDouble(input.trim());
+                if (grade < 0 || grade > 100) {
+                    JOptionPane.showMessageDialog(null,
+                            "Grade must be between 0 and 100.",
+                            "Invalid Grade",
+                            JOptionPane.ERROR_MESSAGE);
+                    continue;
+                }
+
+                addRecorded(grade, "dialog");
+                JOptionPane.showMessageDialog(null,
+                        "Grade " + df.format(grade) + " added.",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+
+                int again = JOptionPane.showConfirmDialog(
+                        null, "Add another grade?", "Continue?", JOptionPane.YES_NO_OPTION);
+                if (again != JOptionPane.YES_OPTION) return;
+
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(null,
+                        "Please enter a valid number (e.g., 88 or 92.5).",
+                        "Invalid Input",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private static void viewAverage() {
+        if (grades.isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    "No grades entered yet.",
+                    "Average",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        double average = calculateAverage();
+        JOptionPane.showMessageDialog(null,
+                "Current Average: " + df.format(average) + "%" + categoryReport(),
+                "Average",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static void viewLetterGrade() {
+        if (grades.isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    "No grades entered yet.",
+                    "Letter Grade",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        double average = calculateAverage();
+        String letter = getLetterGrade(average);
+        JOptionPane.showMessageDialog(null,
+                "Average: " + df.format(average) + "%\nLetter Grade: " + letter,
+                "Letter Grade",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static void viewDistribution() {
+        if (grades.isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    "No grades entered yet.",
+                    "Distribution",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JOptionPane.showMessageDialog(null,
+                distributionReport(),
+                "Distribution",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static void showGoodbyeMessage() {
+        String message = "Thank you for using Grade Calculator!\n\n";
+        if (!grades.isEmpty()) {
+            double average = calculateAverage();
+            message += "Final Statistics:\n" +
+                    "Total Grades: " + grades.size() + "\n" +
+                    "Final Average: " + df.format(average) + "%\n" +
+                    "Letter Grade: " + getLetterGrade(average);
+        }
+
+        JOptionPane.showMessageDialog(null, message,
+                "Goodbye", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // ===================== CONSOLE FALLBACK (headless) =====================
+
+    private static void runConsole() {
+        Scanner sc = new Scanner(System.in);
+        System.out.println("Grade Calculator (Console Mode)");
+        System.out.println("--------------------------------");
+
+        int choice;
+        do {
+            System.out.println("""
+                    
+                    1) Add a Grade
+                    2) View Current Average
+                    3) View Letter Grade
+                    4) View Distribution
+                    5) Exit
+                    """);
+            System.out.print("Enter choice (1-5): ");
+
+            String line = sc.nextLine().trim();
+            try {
+                choice = Integer.parseInt(line);
+            } catch (NumberFormatException e) {
+                System.out.println("Please enter a valid number 1-5.");
+                choice = 0;
+            }
+
+            switch (choice) {
+                case 1 -> addGradeConsole(sc);
+                case 2 -> viewAverageConsole();
+                case 3 -> viewLetterGradeConsole();
+                case 4 -> viewDistributionConsole();
+                case 5 -> System.out.println("\nGoodbye!");
+                default -> System.out.println("Invalid choice. Try again.");
+            }
+        } while (choice != 5);
+    }
+
+    private static void addGradeConsole(Scanner sc) {
+        if (categories != null) {
+            CategoryScheme scheme = categories.scheme();
+            for (int c = 0; c < scheme.size(); c++) System.out.println("  " + (c + 1) + ") " + scheme.categoryName(c));
+            System.out.print("Category (1-" + scheme.size() + ", blank for " + scheme.categoryName(categories.current()) + "): ");
+            String s = sc.nextLine().trim();
+            if (!s.isEmpty()) {
+                int c = scheme.indexOf(s);
+                try {
+                    if (c < 0) c = Integer.parseInt(s) - 1;
+                } catch (NumberFormatException e) {
+                    c = -1;
+                }
+                if (c < 0 || c >= scheme.size()) {
+                    System.out.println("No such category.");
+                    return;
+                }
+                categories.setCurrent(c);
+            }
+        }
+        while (true) {
+            System.out.print("Enter a grade (0–100) or blank to stop: ");
+            String s = sc.nextLine().trim();
+            if (s.isEmpty()) return;
+
+            try {
+                double g = Double.parseDouble(s);
+                if (g < 0 || g > 100) {
+                    System.out.println("Grade must be between 0 and 100.");
+                    continue;
+                }
+                addRecorded(g, "console");
+                System.out.println("Added: " + df.format(g));
+                System.out.print("Add another? (y/N): ");
+                String again = sc.nextLine().trim().toLowerCase();
+                if (!again.equals("y")) return;
+            } catch (NumberFormatException e) {
+                System.out.println("Please enter a valid number (e.g., 88 or 92.5).");
+            }
+        }
+    }
+
+    private static void viewAverageConsole() {
+        if (grades.isEmpty()) {
+            System.out.println("No grades entered yet.");
+            return;
+        }
+        double avg = calculateAverage();
+        System.out.println("Current Average: " + df.format(avg) + "%" + categoryReport());
+    }
+
+    private static void viewLetterGradeConsole() {
+        if (grades.isEmpty()) {
+            System.out.println("No grades entered yet.");
+            return;
+        }
+        double avg = calculateAverage();
+        System.out.println("Average: " + df.format(avg) + "%  Letter: " + getLetterGrade(avg));
+    }
+
+    private static void viewDistributionConsole() {
+        if (grades.isEmpty()) {
+            System.out.println("No grades entered yet.");
+            return;
+        }
+        System.out.println(distributionReport());
+    }
+
+    // ===================== BATCH MODE (--batch file... | -) =====================
+
+    /**
+     * Streams grades from files (or stdin for "-") through a 1 MB NIO buffer
+     * and prints a summary without prompting. Only the count and exact sum
+     * are kept, so memory stays constant however large the input is.
+     * Commas separate grades here and '.' is the only decimal point, so a
+     * CSV line such as {@code 90,80,70} is three grades, not 90.8 and 70.
+     */
+    private static void runBatch(String[] sources) {
+        if (sources.length == 0) sources = new String[]{"-"};
+
+        long[] sum = {0};
+        GradeParser parser = GradeParser.pointOnly(v -> sum[0] += v);
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+        long bytes = 0;
+        long start = System.nanoTime();
+
+        for (String source : sources) {
+            try (ReadableByteChannel ch = source.equals("-")
+                    ? Channels.newChannel(System.in)
+                    : FileChannel.open(Path.of(source))) {
+                int n;
+                while ((n = ch.read(buf)) >= 0) {
+                    bytes += n;
+                    buf.flip();
+                    parser.feed(buf);
+                    buf.clear();
+                }
+                parser.finish(); // a grade never spans two inputs
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Cannot read " + source + ": " + e.getMessage());
+                System.exit(2);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int count = parser.added();
+        System.out.println("Grades:  " + count);
+        System.out.println("Skipped: " + parser.skipped());
+        if (count > 0) {
+            double avg = sum[0] / (double) ((long) count * GradeStore.SCALE);
+            System.out.println("Average: " + df.format(avg) + "%");
+            System.out.println("Letter:  " + getLetterGrade(avg));
+        } else {
+            System.out.println("No valid grades.");
+        }
+        System.err.printf("Read %,d bytes in %.3f s (%.0f MB/s)%n", bytes, seconds, bytes / 1e6 / Math.max(seconds, 1e-9));
+    }
+
+    // ===================== SERVER MODE (--serve [port]) =====================
+
+    /** The port number in {@code arg}, or -1 if it is not a number from 1 to 65535. */
+    private static int parsePort(String arg) {
+        try {
+            int port = Integer.parseInt(arg.trim());
+            return port >= 1 && port <= 65535 ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void runServer(int port) {
+        openStorage();
+        GradeServer server;
+        try {
+            server = new GradeServer(grades, scale, port);
+        } catch (IOException e) {
+            System.err.println("Cannot listen on port " + port + ": " + e.getMessage());
+            closeStorage();
+            System.exit(2);
+            return;
+        }
+        // One hook, in order: the journals' own hooks could close them under the last batch
+        if (storage != null) storage.keepOpenAtExit();
+        if (tagStorage != null) tagStorage.keepOpenAtExit();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            closeStorage();
+        }, "grade-server-stop"));
+        server.start();
+        System.out.println("Serving grades on http://127.0.0.1:" + server.port() + "/ (Ctrl+C to stop)");
+    }
+
+    // ===================== EXPORT MODE (--export file) =====================
+
+    /** Writes the saved grades and their summary as JSON for a .json file, CSV otherwise. */
+    private static void runExport(Path file) {
+        openStorage();
+        long start = System.nanoTime();
+        long bytes;
+        int count;
+        try (GradeExport export = GradeExport.of(grades, scale, categories)) {
+            count = export.count();
+            bytes = export.write(file, GradeExport.Format.of(file));
+        } catch (IOException e) {
+            System.err.println("Cannot write " + file + ": " + e.getMessage());
+            closeStorage();
+            System.exit(2);
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("Exported " + count + " grade(s) to " + file
+                + (GradeExport.Format.of(file) == GradeExport.Format.CSV ? ", summary in " + GradeExport.summaryFile(file) : ""));
+        System.err.printf("Wrote %,d bytes in %.3f s%n", bytes, seconds);
+        closeStorage();
+    }
+
+    // ===================== SHARED HELPERS =====================
+
+    private static void openStorage() {
+        grades = persistedStore();
+        try {
+            storage = GradePersistence.openDefault(grades);
+            if (storage.truncatedBytes() > 0)
+                System.err.println("Discarded " + storage.truncatedBytes() + " bytes of an incomplete journal write.");
+            if (!grades.isEmpty())
+                System.out.println("Restored " + grades.size() + " saved grade(s).");
+            System.out.println(storage.startupReport());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Grades will not be saved: " + e.getMessage());
+        }
+        openCategories();
+    }
+
+    /** Files grades under the configured categories, with their tags saved next to the grades. */
+    private static void openCategories() {
+        CategoryScheme scheme;
+        try {
+            scheme = CategoryScheme.configured();
+        } catch (IOException e) {
+            System.err.println("Every grade will count equally: " + e.getMessage());
+            return;
+        }
+        if (scheme == null) return;
+        GradeStore tags = grades.companion();
+        if (storage != null) {
+            try {
+                tagStorage = GradePersistence.openDefault(tags, GradePersistence.dataDir().resolve("categories"));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Grade categories will not be saved: " + e.getMessage());
+                tags = grades.companion();
+            }
+        }
+        categories = new GradeCategories(scheme, grades, tags);
+        if (categories.repairedTags() > 0)
+            System.err.println(categories.repairedTags() + " saved grade(s) had no matching category tag"
+                    + " and were filed under " + scheme.categoryName(0) + "; check their categories.");
+    }
+
+    /** Store for the saved grades; off the heap with {@code -Dgrades.offHeap=true}. */
+    private static GradeStore persistedStore() {
+        try {
+            return GradeStore.configured(GradePersistence.dataDir());
+        } catch (IOException e) {
+            System.err.println("Grades will be kept on the heap: " + e.getMessage());
+            return new GradeStore();
+        }
+    }
+
+    private static void loadScale() {
+        try {
+            scale = GradingScale.configured(GradingScale.BASIC);
+        } catch (IOException e) {
+            System.err.println("Using the default grading scale: " + e.getMessage());
+        }
+    }
+
+    private static void closeStorage() {
+        close(storage, "grades");
+        close(tagStorage, "grade categories"); // even if the grades could not be saved
+    }
+
+    private static void close(GradePersistence persistence, String what) {
+        if (persistence == null) return;
+        try {
+            persistence.close();
+        } catch (IOException e) {
+            System.err.println("Could not save " + what + ": " + e.getMessage());
+        }
+    }
+
+    /** Adds one validated grade inside a Flight Recorder ingestion event. */
+    private static void addRecorded(double grade, String source) {
+        GradeEvents.Ingest event = new GradeEvents.Ingest();
+        event.begin();
+        grades.add(grade);
+        event.source = source;
+        event.added = 1;
+        event.commit();
+    }
+
+    /** Weighted by category when categories are configured, otherwise the plain mean. */
+    private static double calculateAverage() {
+        return categories != null ? categories.weightedMean() : grades.mean();
+    }
+
+    /** Per-category lines to follow the average, or "" without categories. */
+    private static String categoryReport() {
+        if (categories == null) return "";
+        CategoryScheme scheme = categories.scheme();
+        double totalWeight = 0;
+        for (int c = 0; c < scheme.size(); c++) totalWeight += scheme.weight(c);
+        StringBuilder sb = new StringBuilder("\n");
+        for (int c = 0; c < scheme.size(); c++) {
+            sb.append(String.format("%n  %s (%s%%): ", scheme.categoryName(c), df.format(100 * scheme.weight(c) / totalWeight)));
+            if (categories.count(c) == 0) {
+                sb.append("no grades");
+                continue;
+            }
+            sb.append(df.format(categories.mean(c))).append('%');
+            int dropped = categories.count(c) - categories.kept(c);
+            if (dropped > 0) sb.append(" (lowest ").append(dropped).append(" dropped)");
+        }
+        return sb.toString();
+    }
+
+    private static String distributionReport() {
+        GradeDistribution d = grades.distribution();
+        StringBuilder sb = new StringBuilder()
+                .append("Median: ").append(df.format(d.median())).append('\n')
+                .append("Middle 50%: ").append(df.format(d.percentile(25)))
+                .append(" – ").append(df.format(d.percentile(75))).append('\n')
+                .append("90th Percentile: ").append(df.format(d.percentile(90))).append("\n\n")
+                .append("Grade Bands:\n");
+
+        // Same bands as getLetterGrade
+        for (int b = 0; b < scale.bandCount(); b++) {
+            int low = scale.bandLow(b), high = scale.bandHigh(b);
+            int n = d.countBetween(low, high);
+            int bar = (int) Math.round(30.0 * n / d.count());
+            sb.append(String.format("  %s (%s–%s): %d  %s%n", scale.bandLetter(b), df.format(GradeStore.toDouble(low)),
+                    df.format(GradeStore.toDouble(high)), n, "#".repeat(bar)));
+        }
+        return sb.toString();
+    }
+
+    private static String getLetterGrade(double average) {
+        return scale.letterOf(average);
+    }
+}
@@ -0,0 +1,253 @@
+package gradecalc.console;
+
+import gradecalc.core.ConcurrentGradeStore;
+import gradecalc.core.GradeEvents;
+import gradecalc.core.GradeParser;
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradingScale;
+import gradecalc.core.LatencyHistogram;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local HTTP front end for the console calculator ({@code --serve [port]}).
+ *
+ * <pre>
+ * POST /grades    body: one or more grades, any separators  -> {"added":n,"skipped":n}
+ * GET  /summary   -> {"count":n,"average":x,"letter":"B","gpa":x}
+ * GET  /latency   -> request latency percentiles and histogram buckets
+ * </pre>
+ *
+ * Handler threads parse into a buffer of their own and, once the whole body
+ * has been read, publish it through their own {@link ConcurrentGradeStore}
+ * appender, so concurrent submissions never contend and a request that fails
+ * part way adds nothing. A batcher thread moves
+ * newly submitted grades into the persistent {@link GradeStore} every few
+ * milliseconds, so the journal sees one batch per tick rather than one
+ * writer per request. The pending buffer only holds grades until then;
+ * answers come from the store. The store is only touched under one lock.
+ */
+final class GradeServer {
+
+    private static final int BATCH_MILLIS = 5;
+    private static final int READ_BYTES = 8 * 1024;
+    private static final int MAX_KEPT_GRADES = 1 << 20;
+
+    private final GradeStore grades;
+    private final GradingScale scale;
+    private final ConcurrentGradeStore incoming = new ConcurrentGradeStore();
+    private final Object storeLock = new Object();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final ThreadLocal<Submission> submissions = ThreadLocal.withInitial(Submission::new);
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService batcher;
+    private final HttpServer http;
+
+    /** Serves {@code grades}, which must not be touched by the caller until {@link #stop()} returns. */
+    GradeServer(GradeStore grades, GradingScale scale, int port) throws IOException {
+        this.grades = grades;
+        this.scale = scale;
+
+        // Long-lived platform threads: each keeps its appender and parser for every request it serves
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        handlers = Executors.newFixedThreadPool(threads, daemon("grade-http"));
+        batcher = Executors.newSingleThreadScheduledExecutor(daemon("grade-batcher"));
+
+        // Responses are small; without TCP_NODELAY each one waits on the client's delayed ACK.
+        // The JDK server reads this once, when its first instance is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        http.setExecutor(handlers);
+        http.createContext("/grades", timed(this::submit));
+        http.createContext("/summary", timed(this::summary));
+        http.createContext("/latency", this::latency); // not timed, so polling it doesn't skew the numbers
+    }
+
+    void start() {
+        batcher.scheduleWithFixedDelay(this::applyBatch, BATCH_MILLIS, BATCH_MILLIS, TimeUnit.MILLISECONDS);
+        http.start();
+    }
+
+    int port() { return http.getAddress().getPort(); }
+
+    /** Stops accepting requests and applies every accepted grade to the store. */
+    void stop() {
+        http.stop(0);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(5, TimeUnit.SECONDS);
+            batcher.submit(this::applyBatch).get();
+        } catch (Exception e) {
+            System.err.println("Could not apply the last grades: " + e.getMessage());
+        }
+        batcher.shutdown();
+    }
+
+    private void applyBatch() {
+        synchronized (storeLock) {
+            incoming.drainTo(this::apply);
+        }
+    }
+
+    private void apply(short[] values, int from, int to) {
+        for (int i = from; i < to; i++) grades.addFixed(values[i]);
+    }
+
+    // ---------- Handlers ----------
+
+    private void submit(HttpExchange ex) throws IOException {
+        if (!ex.getRequestMethod().equals("POST")) {
+            send(ex, 405, "{\"error\":\"use POST\"}");
+            return;
+        }
+        Submission s = submissions.get();
+        GradeEvents.Ingest event = new GradeEvents.Ingest();
+        event.begin();
+        s.reset();
+        try (InputStream in = ex.getRequestBody()) {
+            for (int n; (n = in.read(s.buffer)) > 0; ) s.parser.feed(ByteBuffer.wrap(s.buffer, 0, n));
+        }
+        s.parser.finish();
+        s.publish();
+        event.source = "http";
+        event.added = s.parser.added();
+        event.skipped = s.parser.skipped();
+        event.commit();
+        send(ex, 200, "{\"added\":" + s.parser.added() + ",\"skipped\":" + s.parser.skipped() + "}");
+    }
+
+    private void summary(HttpExchange ex) throws IOException {
+        if (!ex.getRequestMethod().equals("GET")) {
+            send(ex, 405, "{\"error\":\"use GET\"}");
+            return;
+        }
+        int count;
+        double avg;
+        synchronized (storeLock) {
+            incoming.drainTo(this::apply); // so a client sees its own grades without waiting for the tick
+            count = grades.size();
+            avg = grades.mean();
+        }
+        String body = count == 0
+                ? "{\"count\":0,\"average\":null,\"letter\":null,\"gpa\":null}"
+                : String.format(Locale.ROOT, "{\"count\":%d,\"average\":%.2f,\"letter\":%s,\"gpa\":%.2f}",
+                        count, avg, jsonString(scale.letterOf(avg)), scale.gpaOf(avg));
+        send(ex, 200, body);
+    }
+
+    private void latency(HttpExchange ex) throws IOException {
+        StringBuilder sb = new StringBuilder(256).append('{')
+                .append("\"count\":").append(latency.count())
+                .append(String.format(Locale.ROOT, ",\"meanUs\":%.1f", latency.meanNanos() / 1e3));
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            sb.append(",\"p").append(p == 99.9 ? "999" : String.valueOf((int) p)).append("Us\":")
+              .append(String.format(Locale.ROOT, "%.1f", latency.percentileNanos(p) / 1e3));
+        }
+        sb.append(String.format(Locale.ROOT, ",\"maxUs\":%.1f", latency.maxNanos() / 1e3)).append(",\"buckets\":[");
+        long[] counts = latency.bucketCounts();
+        boolean first = true;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            if (!first) sb.append(',');
+            first = false;
+            sb.append(String.format(Locale.ROOT, "{\"upToUs\":%.3f,\"count\":%d}", LatencyHistogram.upperBound(i) / 1e3, counts[i]));
+        }
+        send(ex, 200, sb.append("]}").toString());
+    }
+
+    private HttpHandler timed(HttpHandler handler) {
+        return ex -> {
+            long start = System.nanoTime();
+            try {
+                handler.handle(ex);
+            } catch (IOException | RuntimeException e) {
+                if (ex.getResponseCode() == -1) send(ex, 500, "{\"error\":" + jsonString(String.valueOf(e.getMessage())) + "}");
+                else ex.close(); // the status line is already out; all that is left is to end the response
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** {@code s} as a quoted JSON string. */
+    static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Per-handler-thread parse state. The parser fills {@code parsed}, which
+     * only reaches that thread's appender once the request body is complete.
+     */
+    private final class Submission {
+        final byte[] buffer = new byte[READ_BYTES];
+        final ConcurrentGradeStore.Appender appender = incoming.appender();
+        final GradeParser parser = new GradeParser(this::hold);
+        short[] parsed = new short[READ_BYTES];
+        int count;
+
+        void reset() {
+            parser.reset();
+            count = 0;
+            if (parsed.length > MAX_KEPT_GRADES) parsed = new short[READ_BYTES]; // don't pin one huge body's buffer
+        }
+
+        private void hold(int fixed) {
+            if (count == parsed.length) parsed = Arrays.copyOf(parsed, count * 2);
+            parsed[count++] = (short) fixed;
+        }
+
+        void publish() {
+            for (int i = 0; i < count; i++) appender.addFixed(parsed[i]);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
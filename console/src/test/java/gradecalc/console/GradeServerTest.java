@@ -0,0 +1,100 @@
+package gradecalc.console;
+
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradingScale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private GradeStore grades;
+    private GradeServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        grades = new GradeStore();
+        grades.add(50);                                              // restored before the server starts
+        server = new GradeServer(grades, GradingScale.BASIC, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + path));
+        b.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(b.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void summaryIncludesSavedGradesAndTheCallersOwnSubmission() throws Exception {
+        assertEquals("{\"added\":2,\"skipped\":1}", send("POST", "/grades", "90, 101 70").body());
+        assertEquals("{\"count\":3,\"average\":70.00,\"letter\":\"C\",\"gpa\":2.00}", send("GET", "/summary", null).body());
+        assertEquals(405, send("GET", "/grades", null).statusCode());
+    }
+
+    @Test
+    void stopAppliesEveryAcceptedGradeOnce() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        List<Future<HttpResponse<String>>> posts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) posts.add(clients.submit(() -> send("POST", "/grades", "80 90 100")));
+        for (Future<HttpResponse<String>> f : posts) assertEquals(200, f.get().statusCode());
+        clients.shutdown();
+
+        server.stop();
+        server = null;
+        assertEquals(1 + 40 * 3, grades.size());
+        assertEquals(5000 + 40 * 27000L, grades.sumFixed());
+    }
+
+    @Test
+    void aBodyCutShortAddsNothing() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("POST /grades HTTP/1.1\r\nHost: localhost\r\nContent-Length: 100\r\n\r\n90 80 70 ".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            socket.shutdownOutput();                                 // the connection ends 91 bytes early
+            String status = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+            assertTrue(status.contains(" 500 "), status);
+        }
+        assertTrue(send("GET", "/summary", null).body().startsWith("{\"count\":1,"));
+    }
+
+    @Test
+    void stringsAreEscapedForJson() {
+        assertEquals("\"A+\"", GradeServer.jsonString("A+"));
+        assertEquals("\"say \\\"hi\\\" \\\\ \\n\\u0001\"", GradeServer.jsonString("say \"hi\" \\ \n\u0001"));
+    }
+
+    @Test
+    void latencyIsReported() throws Exception {
+        send("GET", "/summary", null);
+        String body = send("GET", "/latency", null).body();
+        assertTrue(body.startsWith("{\"count\":1,"), body);
+    }
+}
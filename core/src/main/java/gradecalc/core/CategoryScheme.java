@@ -0,0 +1,143 @@
+package gradecalc.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How a course weights its kinds of work, read from a small text file with
+ * one category per line:
+ *
+ * <pre>
+ * # name      weight  drop lowest
+ * Homework    25      1
+ * Quizzes     25      1
+ * Exams       50
+ * </pre>
+ *
+ * Weights are relative and need not add up to 100. The drop count is
+ * optional; a category never drops its last grade. Grades are filed under
+ * categories by {@link GradeCategories}.
+ */
+public final class CategoryScheme {
+
+    /** Homework and quizzes at 25% with their lowest dropped, exams at 50%. */
+    public static final CategoryScheme STANDARD = builtin("standard");
+
+    /** Far more than any course needs; a file with more is almost certainly malformed. */
+    static final int MAX_CATEGORIES = 64;
+
+    private final String name;
+    private final String[] names;
+    private final double[] weights;
+    private final int[] drops;
+
+    private CategoryScheme(String name, List<String> names, List<Double> weights, List<Integer> drops) {
+        this.name = name;
+        this.names = names.toArray(new String[0]);
+        this.weights = weights.stream().mapToDouble(Double::doubleValue).toArray();
+        this.drops = drops.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ---------- Loading ----------
+
+    /**
+     * The scheme named by the {@code grades.categories} system property,
+     * either {@code standard} or a path to a categories file, or null if the
+     * property is unset and every grade should count equally.
+     */
+    public static CategoryScheme configured() throws IOException {
+        String setting = System.getProperty("grades.categories");
+        if (setting == null || setting.isBlank()) return null;
+        setting = setting.trim();
+        if (setting.equalsIgnoreCase(STANDARD.name)) return STANDARD;
+        return load(Path.of(setting));
+    }
+
+    public static CategoryScheme load(Path file) throws IOException {
+        String name = file.getFileName().toString().replaceFirst("\\.categories$", "");
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(name, in);
+        }
+    }
+
+    /** Reads categories from {@code in}; fails on a malformed line, a repeated name or a non-positive weight. */
+    public static CategoryScheme parse(String name, Reader in) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<Integer> drops = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(in);
+        int lineNo = 0;
+        for (String line; (line = lines.readLine()) != null; ) {
+            lineNo++;
+            int hash = line.indexOf('#');
+            String[] fields = (hash >= 0 ? line.substring(0, hash) : line).trim().split("\\s+");
+            if (fields.length == 1 && fields[0].isEmpty()) continue;
+            if (fields.length < 2 || fields.length > 3) throw bad(name, lineNo, "expected: name, weight, optional drop count");
+            double weight;
+            int drop;
+            try {
+                weight = Double.parseDouble(fields[1]);
+                drop = fields.length == 3 ? Integer.parseInt(fields[2]) : 0;
+            } catch (NumberFormatException e) {
+                throw bad(name, lineNo, e.getMessage());
+            }
+            if (!(weight > 0) || Double.isInfinite(weight)) throw bad(name, lineNo, "weight must be positive");
+            if (drop < 0) throw bad(name, lineNo, "drop count must not be negative");
+            for (String existing : names) {
+                if (existing.equalsIgnoreCase(fields[0])) throw bad(name, lineNo, "category " + fields[0] + " is listed twice");
+            }
+            names.add(fields[0]);
+            weights.add(weight);
+            drops.add(drop);
+        }
+        if (names.isEmpty()) throw new IOException("Category scheme " + name + " has no categories");
+        if (names.size() > MAX_CATEGORIES) throw new IOException("Category scheme " + name + " has too many categories");
+        return new CategoryScheme(name, names, weights, drops);
+    }
+
+    private static IOException bad(String name, int lineNo, String why) {
+        return new IOException("Bad category scheme " + name + " line " + lineNo + ": " + why);
+    }
+
+    private static CategoryScheme builtin(String name) {
+        try (InputStream in = CategoryScheme.class.getResourceAsStream(name + ".categories")) {
+            if (in == null) throw new IllegalStateException("Missing built-in category scheme: " + name);
+            return parse(name, new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- Categories ----------
+
+    public String name() { return name; }
+
+    public int size() { return names.length; }
+
+    public String categoryName(int category) { return names[category]; }
+
+    /** Relative weight, as written in the file. */
+    public double weight(int category) { return weights[category]; }
+
+    /** How many of the lowest grades the category leaves out of its mean. */
+    public int dropLowest(int category) { return drops[category]; }
+
+    /** Category called {@code name}, ignoring case, or -1. */
+    public int indexOf(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equalsIgnoreCase(name)) return c;
+        }
+        return -1;
+    }
+
+    @Override public String toString() { return name; }
+}
@@ -0,0 +1,267 @@
+package gradecalc.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Append-only grade column for many producer threads (imports, network
+ * handlers, file watchers) with consistent, immutable snapshots for readers.
+ *
+ * Each producer thread appends into its own chain of fixed-size chunks and
+ * publishes its count with a release store, so appends never lock, never
+ * contend with one another and never wait for a reader. {@link #snapshot()}
+ * drains what every producer has published so far into a shared chunked
+ * column and returns a {@link Snapshot} of it; chunks are only ever appended
+ * to, so earlier snapshots stay valid without copying. A snapshot holds, for
+ * each producer, a prefix of what it appended, and its sums match its values
+ * exactly.
+ *
+ * A consumer that moves grades into a store of its own uses {@link #drainTo}
+ * instead, which hands the new values over without keeping them, so only
+ * what is still in flight stays here. Use one or the other on a store.
+ */
+public final class ConcurrentGradeStore {
+
+    private static final int PRODUCER_CHUNK = 4096;
+    private static final int SNAPSHOT_CHUNK_BITS = 14;
+    private static final int SNAPSHOT_CHUNK = 1 << SNAPSHOT_CHUNK_BITS;
+
+    private static final VarHandle COUNT;
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(Chunk.class, "count", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ThreadLocal<Appender> appenders = ThreadLocal.withInitial(this::register);
+    private volatile Appender[] producers = new Appender[0];
+    private volatile Snapshot published = Snapshot.EMPTY;
+
+    // Drain state, guarded by drainLock
+    private final Object drainLock = new Object();
+    private short[][] chunks = new short[4][];
+    private int size;
+    private long sum, sumSquares;
+
+    // ---------- Appending ----------
+
+    /** Appends a fixed-point grade on behalf of the calling thread. */
+    public void addFixed(int fixed) {
+        appenders.get().addFixed(fixed);
+    }
+
+    public void add(double grade) {
+        addFixed(GradeStore.toFixed(grade));
+    }
+
+    /**
+     * The calling thread's appender. Holding on to it skips the thread-local
+     * lookup per grade; it must only be used from the thread that obtained it.
+     */
+    public Appender appender() {
+        return appenders.get();
+    }
+
+    private Appender register() {
+        Appender a = new Appender(Thread.currentThread());
+        synchronized (drainLock) {
+            Appender[] next = Arrays.copyOf(producers, producers.length + 1);
+            next[next.length - 1] = a;
+            producers = next;
+        }
+        return a;
+    }
+
+    /** Single-producer append buffer owned by one thread. */
+    public static final class Appender {
+        private final Thread owner;
+        private Chunk tail = new Chunk();
+        private int filled;          // producer's plain copy of tail.count
+
+        // Drain cursor, guarded by the store's drainLock
+        private Chunk head = tail;
+        private int drained;
+
+        private Appender(Thread owner) {
+            this.owner = owner;
+        }
+
+        public void addFixed(int fixed) {
+            if (fixed < 0 || fixed > GradeStore.MAX_FIXED)
+                throw new IllegalArgumentException("Grade must be between 0 and 100: " + GradeStore.toDouble(fixed));
+            if (Thread.currentThread() != owner) throw new IllegalStateException("Appender used off its owning thread");
+            Chunk c = tail;
+            if (filled == PRODUCER_CHUNK) {
+                Chunk next = new Chunk();
+                c.next = next; // volatile: published before any value in it
+                tail = c = next;
+                filled = 0;
+            }
+            c.values[filled] = (short) fixed;
+            COUNT.setRelease(c, ++filled);
+        }
+
+        public void add(double grade) {
+            addFixed(GradeStore.toFixed(grade));
+        }
+    }
+
+    private static final class Chunk {
+        final short[] values = new short[PRODUCER_CHUNK];
+        int count;                   // written with release, read with acquire, via COUNT
+        volatile Chunk next;
+    }
+
+    // ---------- Reading ----------
+
+    /** Receives {@code values[from, to)}; the array belongs to the store and must not be kept. */
+    public interface Sink {
+        void accept(short[] values, int from, int to);
+    }
+
+    /** Drains everything appended so far and returns an immutable view of it. */
+    public Snapshot snapshot() {
+        synchronized (drainLock) {
+            int before = size;
+            drainAll(this::copy);
+            if (size != before) published = new Snapshot(chunks, size, sum, sumSquares);
+            return published;
+        }
+    }
+
+    /**
+     * Hands everything appended since the last drain to {@code sink}, in each
+     * producer's order, and forgets it. Snapshots don't include these values.
+     */
+    public void drainTo(Sink sink) {
+        synchronized (drainLock) {
+            drainAll(sink);
+        }
+    }
+
+    private void drainAll(Sink sink) {
+        Appender[] all = producers;
+        int finished = 0;
+        for (Appender a : all) {
+            drain(a, sink);
+            if (finished(a)) finished++;
+        }
+        if (finished > 0) prune(all);
+    }
+
+    /** The most recent snapshot, without draining pending appends. Never blocks. */
+    public Snapshot lastSnapshot() {
+        return published;
+    }
+
+    private static void drain(Appender a, Sink sink) {
+        while (true) {
+            Chunk c = a.head;
+            int available = (int) COUNT.getAcquire(c);
+            if (a.drained < available) {
+                sink.accept(c.values, a.drained, available);
+                a.drained = available;
+            }
+            if (available < PRODUCER_CHUNK) return;
+            Chunk next = c.next;
+            if (next == null) return;
+            a.head = next;
+            a.drained = 0;
+        }
+    }
+
+    private void copy(short[] src, int from, int to) {
+        long s = 0, sq = 0;
+        for (int i = from; i < to; i++) {
+            int v = src[i];
+            s += v;
+            sq += v * v;
+        }
+        sum += s;
+        sumSquares += sq;
+        while (from < to) {
+            int chunk = size >>> SNAPSHOT_CHUNK_BITS, offset = size & (SNAPSHOT_CHUNK - 1);
+            if (chunk == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            if (chunks[chunk] == null) chunks[chunk] = new short[SNAPSHOT_CHUNK];
+            int n = Math.min(to - from, SNAPSHOT_CHUNK - offset);
+            System.arraycopy(src, from, chunks[chunk], offset, n);
+            from += n;
+            size += n;
+        }
+    }
+
+    /** True once the producer's thread has ended and all of its appends are drained. */
+    private static boolean finished(Appender a) {
+        // Thread termination happens-before isAlive() returning false, so its last count is visible
+        return !a.owner.isAlive() && a.head.next == null && a.drained == (int) COUNT.getAcquire(a.head);
+    }
+
+    private void prune(Appender[] all) {
+        Appender[] kept = new Appender[all.length];
+        int n = 0;
+        for (Appender a : all) {
+            if (!finished(a)) kept[n++] = a;
+        }
+        producers = Arrays.copyOf(kept, n);
+    }
+
+    /** Immutable, internally consistent view of the store at one drain. */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new short[0][], 0, 0, 0);
+
+        private final short[][] chunks;
+        private final int size;
+        private final long sum, sumSquares;
+
+        private Snapshot(short[][] chunks, int size, long sum, long sumSquares) {
+            this.chunks = chunks;
+            this.size = size;
+            this.sum = sum;
+            this.sumSquares = sumSquares;
+        }
+
+        public int size() { return size; }
+
+        public boolean isEmpty() { return size == 0; }
+
+        public int getFixed(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            return chunks[index >>> SNAPSHOT_CHUNK_BITS][index & (SNAPSHOT_CHUNK - 1)];
+        }
+
+        public double get(int index) {
+            return GradeStore.toDouble(getFixed(index));
+        }
+
+        public long sumFixed() { return sum; }
+
+        public double mean() {
+            return size == 0 ? 0 : sum / (double) ((long) size * GradeStore.SCALE);
+        }
+
+        /** Population variance in squared grade points. */
+        public double variance() {
+            if (size == 0) return 0;
+            double meanFixed = sum / (double) size;
+            double spread = sumSquares / (double) size - meanFixed * meanFixed;
+            return Math.max(0, spread) / ((double) GradeStore.SCALE * GradeStore.SCALE);
+        }
+
+        /** Copies {@code [from, to)} into {@code dest} starting at {@code offset}. */
+        public void copyTo(int from, int to, short[] dest, int offset) {
+            if (from < 0 || to > size || from > to)
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+            while (from < to) {
+                int chunk = from >>> SNAPSHOT_CHUNK_BITS, start = from & (SNAPSHOT_CHUNK - 1);
+                int n = Math.min(to - from, SNAPSHOT_CHUNK - start);
+                System.arraycopy(chunks[chunk], start, dest, offset, n);
+                from += n;
+                offset += n;
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package gradecalc.core;
+
+import java.util.Arrays;
+
+/**
+ * Files each grade in a {@link GradeStore} under a category of a
+ * {@link CategoryScheme} and keeps the weighted average current.
+ *
+ * Tags live in a second store, one per grade and in the same order, so they
+ * can be persisted with the same snapshot and journal machinery as the
+ * grades themselves, and kept off the heap along with them. Each category
+ * keeps an exact count and sum, updated from the store's listener; a
+ * category that drops its lowest grades also keeps Fenwick trees of counts
+ * and sums over the 0–100 domain, so the sum of its k lowest grades is one
+ * O(log U) descent. Every add, edit or removal therefore costs O(log U), and
+ * the weighted average is a pass over the handful of categories rather than
+ * over the grades.
+ *
+ * Grades added straight to the store are filed under {@link #current()}.
+ */
+public final class GradeCategories implements GradeStore.Listener {
+
+    private final CategoryScheme scheme;
+    private final GradeStore grades;
+    private final GradeStore tags;
+    private int current;
+
+    private final int[] count;
+    private final long[] sum;
+    private final LowestSums[] lowest;   // null for categories that drop nothing
+    private final double[] mean;         // per category, after drops
+    private final int repaired;
+
+    public GradeCategories(CategoryScheme scheme, GradeStore grades) {
+        this(scheme, grades, grades.companion());
+    }
+
+    /**
+     * Categorises {@code grades} using {@code tags}, e.g. restored from
+     * disk. Tags missing at the end, or naming a category the scheme no
+     * longer has, are set to the first category; extra tags are dropped.
+     * {@link #repairedTags()} counts them so the caller can say so.
+     */
+    public GradeCategories(CategoryScheme scheme, GradeStore grades, GradeStore tags) {
+        this.scheme = scheme;
+        this.grades = grades;
+        this.tags = tags;
+        int n = scheme.size();
+        count = new int[n];
+        sum = new long[n];
+        lowest = new LowestSums[n];
+        mean = new double[n];
+        for (int c = 0; c < n; c++) {
+            if (scheme.dropLowest(c) > 0) lowest[c] = new LowestSums();
+        }
+
+        repaired = reconcile();
+        for (int i = 0; i < grades.size(); i++) {
+            int c = tags.getFixed(i), v = grades.getFixed(i);
+            count[c]++;
+            sum[c] += v;
+            if (lowest[c] != null) lowest[c].bucket(v);
+        }
+        for (int c = 0; c < n; c++) {
+            if (lowest[c] != null) lowest[c].fold();
+            updateMean(c);
+        }
+        grades.addListener(this);
+    }
+
+    /** Makes {@code tags} match {@code grades} one for one; returns how many tags it changed. */
+    private int reconcile() {
+        int size = grades.size(), changed = Math.abs(tags.size() - size);
+        if (tags.size() > size) {
+            int[] extra = new int[tags.size() - size];
+            for (int i = 0; i < extra.length; i++) extra[i] = size + i;
+            tags.removeAll(extra);
+        }
+        while (tags.size() < size) tags.addFixed(0);
+        for (int i = 0; i < size; i++) {
+            if (tags.getFixed(i) >= scheme.size()) {
+                tags.setFixed(i, 0);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Tags added, dropped or reset when this was opened. The tags are saved
+     * apart from the grades, so a crash can keep a grade but lose its tag;
+     * nonzero means some grades may now sit in the wrong category.
+     */
+    public int repairedTags() { return repaired; }
+
+    // ---------- Tagging ----------
+
+    public CategoryScheme scheme() { return scheme; }
+
+    /** One tag per grade, for persistence; do not mutate it directly. */
+    public GradeStore tags() { return tags; }
+
+    /** Category that grades added to the store are filed under. */
+    public int current() { return current; }
+
+    public void setCurrent(int category) {
+        checkCategory(category);
+        current = category;
+    }
+
+    public int category(int index) { return tags.getFixed(index); }
+
+    /** Moves the grade at {@code index} to another category. */
+    public void setCategory(int index, int category) {
+        checkCategory(category);
+        int old = tags.getFixed(index);
+        if (old == category) return;
+        int v = grades.getFixed(index);
+        tags.setFixed(index, category);
+        counted(old, v, -1);
+        counted(category, v, 1);
+    }
+
+    // ---------- Queries ----------
+
+    /** Number of grades in the category, dropped ones included. */
+    public int count(int category) { return count[category]; }
+
+    /** Number of grades that count toward the category's mean. */
+    public int kept(int category) { return count[category] - dropped(category); }
+
+    /** Mean of the category's grades after dropping its lowest; 0 if it has none. */
+    public double mean(int category) { return mean[category]; }
+
+    /**
+     * Weighted mean over the categories that have grades, with their
+     * weights rescaled to cover only those; 0 if there are no grades.
+     */
+    public double weightedMean() {
+        double total = 0, weights = 0;
+        for (int c = 0; c < count.length; c++) {
+            if (count[c] == 0) continue;
+            total += scheme.weight(c) * mean[c];
+            weights += scheme.weight(c);
+        }
+        return weights == 0 ? 0 : total / weights;
+    }
+
+    // ---------- GradeStore.Listener ----------
+
+    @Override public void added(int index, int fixed) {
+        tags.addFixed(current);
+        counted(current, fixed, 1);
+    }
+
+    @Override public void changed(int index, int oldFixed, int newFixed) {
+        int c = tags.getFixed(index);
+        counted(c, oldFixed, -1);
+        counted(c, newFixed, 1);
+    }
+
+    @Override public void removed(int index, int oldFixed) {
+        int c = tags.getFixed(index);
+        tags.remove(index);
+        counted(c, oldFixed, -1);
+    }
+
+    @Override public void removedAll(int[] indexes, int[] oldFixed, int n) {
+        int[] removed = Arrays.copyOf(indexes, n);
+        for (int i = 0; i < n; i++) counted(tags.getFixed(removed[i]), oldFixed[i], -1);
+        tags.removeAll(removed);
+    }
+
+    @Override public void cleared() {
+        tags.clear();
+        Arrays.fill(count, 0);
+        Arrays.fill(sum, 0);
+        Arrays.fill(mean, 0);
+        for (LowestSums l : lowest) {
+            if (l != null) l.clear();
+        }
+    }
+
+    // ---------- Aggregates ----------
+
+    private void counted(int category, int fixed, int sign) {
+        count[category] += sign;
+        sum[category] += sign * fixed;
+        if (lowest[category] != null) lowest[category].update(fixed, sign);
+        updateMean(category);
+    }
+
+    /** Drops never take a category's last grade. */
+    private int dropped(int category) {
+        return count[category] == 0 ? 0 : Math.min(scheme.dropLowest(category), count[category] - 1);
+    }
+
+    private void updateMean(int category) {
+        int drop = dropped(category);
+        int kept = count[category] - drop;
+        if (kept == 0) {
+            mean[category] = 0;
+            return;
+        }
+        long keptSum = sum[category] - (drop == 0 ? 0 : lowest[category].sumOfLowest(drop));
+        mean[category] = keptSum / (double) ((long) kept * GradeStore.SCALE);
+    }
+
+    private void checkCategory(int category) {
+        if (category < 0 || category >= scheme.size())
+            throw new IndexOutOfBoundsException("Category " + category + " out of bounds for " + scheme.size() + " categories");
+    }
+
+    /** Fenwick trees of counts and sums per fixed-point value, for the sum of the k lowest grades. */
+    private static final class LowestSums {
+        private static final int BUCKETS = GradeStore.MAX_FIXED + 1;
+        private static final int TOP_BIT = Integer.highestOneBit(BUCKETS);
+
+        private final int[] counts = new int[BUCKETS + 1];  // 1-based
+        private final long[] sums = new long[BUCKETS + 1];
+
+        void update(int fixed, int sign) {
+            for (int i = fixed + 1; i <= BUCKETS; i += i & -i) {
+                counts[i] += sign;
+                sums[i] += sign * fixed;
+            }
+        }
+
+        /** Bulk loading: raw per-value totals, turned into trees by {@link #fold()}. */
+        void bucket(int fixed) {
+            counts[fixed + 1]++;
+            sums[fixed + 1] += fixed;
+        }
+
+        void fold() {
+            for (int i = 1; i <= BUCKETS; i++) {
+                int parent = i + (i & -i);
+                if (parent <= BUCKETS) {
+                    counts[parent] += counts[i];
+                    sums[parent] += sums[i];
+                }
+            }
+        }
+
+        /** Sum of the {@code k} smallest values, 1 &lt;= k &lt;= count. */
+        long sumOfLowest(int k) {
+            int pos = 0, remaining = k;
+            long total = 0;
+            for (int step = TOP_BIT; step > 0; step >>= 1) {
+                int next = pos + step;
+                if (next <= BUCKETS && counts[next] < remaining) {
+                    pos = next;
+                    remaining -= counts[next];
+                    total += sums[next];
+                }
+            }
+            return total + (long) remaining * pos; // the rest all have value pos
+        }
+
+        void clear() {
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package gradecalc.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Backing storage for a {@link GradeStore}'s fixed-point scores: a growable
+ * {@code short[]} on the heap, or fixed-size segments of a memory-mapped
+ * file off it.
+ *
+ * Whole-column passes go through {@link #forEachChunk}, which hands a heap
+ * column's array over as it is and copies a mapped column out a chunk at a
+ * time, so the same counted loops serve both and a mapped column never has
+ * more than one chunk of itself on the heap.
+ */
+abstract class GradeColumn {
+
+    /** Values copied at a time when a mapped column is read through the heap. */
+    static final int CHUNK = 1 << 15;
+
+    /** Receives {@code values[offset, offset + length)}, which are the column's values from {@code first}. */
+    interface ChunkVisitor {
+        void visit(short[] values, int offset, int length, int first);
+    }
+
+    abstract int get(int index);
+
+    abstract void set(int index, int fixed);
+
+    abstract int capacity();
+
+    abstract void ensureCapacity(int minCapacity);
+
+    /** The backing array of a heap column, or null. */
+    abstract short[] array();
+
+    abstract void copyTo(int from, short[] dest, int offset, int count);
+
+    abstract void copyFrom(short[] src, int offset, int to, int count);
+
+    /** Appends {@code count} values from {@code from} to {@code dest}, advancing its position. */
+    abstract void copyTo(int from, ShortBuffer dest, int count);
+
+    /** An empty column of the same kind with room for {@code capacity} values. */
+    abstract GradeColumn emptyLike(int capacity);
+
+    /** Frees what the column holds outside the heap; it must not be used afterwards. */
+    void release() {}
+
+    /** Moves {@code count} values from {@code from} down to {@code to}, which is at most {@code from}. */
+    void moveDown(int from, int to, int count) {
+        short[] chunk = new short[Math.min(CHUNK, count)];
+        for (int done = 0; done < count; ) {
+            int n = Math.min(chunk.length, count - done);
+            copyTo(from + done, chunk, 0, n);
+            copyFrom(chunk, 0, to + done, n);
+            done += n;
+        }
+    }
+
+    void forEachChunk(int from, int to, ChunkVisitor visitor) {
+        short[] chunk = new short[Math.min(CHUNK, Math.max(1, to - from))];
+        for (int off = from; off < to; ) {
+            int n = Math.min(chunk.length, to - off);
+            copyTo(off, chunk, 0, n);
+            visitor.visit(chunk, 0, n, off);
+            off += n;
+        }
+    }
+
+    /** A column of the same kind holding a copy of the first {@code count} values. */
+    GradeColumn copy(int count) {
+        GradeColumn copy = emptyLike(count);
+        forEachChunk(0, count, (values, offset, length, first) -> copy.copyFrom(values, offset, first, length));
+        return copy;
+    }
+
+    // ---------- Heap ----------
+
+    static final class Heap extends GradeColumn {
+        private short[] values;
+
+        Heap(int capacity) { values = new short[Math.max(capacity, 1)]; }
+
+        /** Takes ownership of {@code values}. */
+        Heap(short[] values) { this.values = values.length == 0 ? new short[1] : values; }
+
+        @Override int get(int index) { return values[index]; }
+        @Override void set(int index, int fixed) { values[index] = (short) fixed; }
+        @Override int capacity() { return values.length; }
+        @Override short[] array() { return values; }
+
+        @Override void ensureCapacity(int minCapacity) {
+            if (minCapacity <= values.length) return;
+            values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1)));
+        }
+
+        @Override void copyTo(int from, short[] dest, int offset, int count) { System.arraycopy(values, from, dest, offset, count); }
+        @Override void copyFrom(short[] src, int offset, int to, int count) { System.arraycopy(src, offset, values, to, count); }
+        @Override void copyTo(int from, ShortBuffer dest, int count) { dest.put(values, from, count); }
+        @Override void moveDown(int from, int to, int count) { System.arraycopy(values, from, values, to, count); }
+        @Override void forEachChunk(int from, int to, ChunkVisitor visitor) { visitor.visit(values, from, to - from, from); }
+        @Override GradeColumn emptyLike(int capacity) { return new Heap(capacity); }
+        @Override GradeColumn copy(int count) { return new Heap(Arrays.copyOf(values, Math.max(count, 1))); }
+    }
+
+    // ---------- Memory-mapped ----------
+
+    /**
+     * Segments of a scratch file in {@code dir}, mapped read-write as the
+     * column grows and paged in and out by the OS. The file is unlinked as
+     * soon as it is open where the platform allows it, and deleted on exit
+     * otherwise; it is working space, not a save file.
+     */
+    static final class Mapped extends GradeColumn {
+        private static final int SHIFT = 22;                  // 4M values, 8 MB per segment
+        private static final int SEGMENT = 1 << SHIFT;
+        private static final int MASK = SEGMENT - 1;
+
+        private final Path dir;
+        private final FileChannel channel;
+        private ShortBuffer[] segments = new ShortBuffer[0];
+
+        Mapped(Path dir, int capacity) throws IOException {
+            this.dir = dir;
+            Files.createDirectories(dir);
+            Path file = Files.createTempFile(dir, "grades-", ".column");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                Files.delete(file);                            // the mapping outlives the name
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            ensureCapacity(Math.max(capacity, 1));
+        }
+
+        @Override int get(int index) { return segments[index >>> SHIFT].get(index & MASK); }
+        @Override void set(int index, int fixed) { segments[index >>> SHIFT].put(index & MASK, (short) fixed); }
+        @Override int capacity() { return (int) Math.min(Integer.MAX_VALUE, (long) segments.length << SHIFT); }
+        @Override short[] array() { return null; }
+
+        @Override void ensureCapacity(int minCapacity) {
+            int needed = (int) (((long) minCapacity + MASK) >>> SHIFT);
+            if (needed <= segments.length) return;
+            ShortBuffer[] next = Arrays.copyOf(segments, needed);
+            try {
+                for (int s = segments.length; s < needed; s++) {
+                    next[s] = channel.map(FileChannel.MapMode.READ_WRITE, (long) s * SEGMENT * 2, SEGMENT * 2L)
+                            .order(ByteOrder.nativeOrder()).asShortBuffer();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map grade column", e);
+            }
+            segments = next;
+        }
+
+        @Override void copyTo(int from, short[] dest, int offset, int count) {
+            while (count > 0) {
+                int n = Math.min(count, SEGMENT - (from & MASK));
+                segments[from >>> SHIFT].get(from & MASK, dest, offset, n);
+                from += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        @Override void copyFrom(short[] src, int offset, int to, int count) {
+            while (count > 0) {
+                int n = Math.min(count, SEGMENT - (to & MASK));
+                segments[to >>> SHIFT].put(to & MASK, src, offset, n);
+                to += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        @Override void copyTo(int from, ShortBuffer dest, int count) {
+            while (count > 0) {
+                int n = Math.min(count, SEGMENT - (from & MASK));
+                dest.put(segments[from >>> SHIFT].slice(from & MASK, n));
+                from += n;
+                count -= n;
+            }
+        }
+
+        @Override GradeColumn emptyLike(int capacity) {
+            try {
+                return new Mapped(dir, capacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create grade column in " + dir, e);
+            }
+        }
+
+        /** Closes the file; the mappings are unmapped once they are unreachable. */
+        @Override void release() {
+            segments = new ShortBuffer[0];
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+        }
+    }
+}
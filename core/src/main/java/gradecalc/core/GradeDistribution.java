@@ -0,0 +1,137 @@
+package gradecalc.core;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics over the 0–100 score domain.
+ *
+ * A Fenwick tree over the 10,001 hundredths buckets holds how many grades
+ * sit at each value. Inserts, deletes and edits are O(log U), and so are
+ * rank, k-th smallest, percentile and range-count queries, where U is the
+ * bucket count; none of them depend on how many grades are stored.
+ * {@link GradeStore} keeps one of these in lockstep with its column.
+ */
+public final class GradeDistribution {
+
+    private static final int BUCKETS = GradeStore.MAX_FIXED + 1;
+    private static final int TOP_BIT = Integer.highestOneBit(BUCKETS);
+
+    private final int[] tree = new int[BUCKETS + 1]; // 1-based Fenwick tree
+    private int count;
+
+    public int count() { return count; }
+
+    // ---------- Queries ----------
+
+    /** Number of grades strictly below {@code fixed}. */
+    public int countBelow(int fixed) {
+        return prefix(Math.min(Math.max(fixed, 0), BUCKETS));
+    }
+
+    /** Number of grades at or below {@code fixed}. */
+    public int countAtMost(int fixed) {
+        return countBelow(fixed + 1);
+    }
+
+    /** Number of grades in the inclusive range [lo, hi]. */
+    public int countBetween(int loFixed, int hiFixed) {
+        return hiFixed < loFixed ? 0 : countAtMost(hiFixed) - countBelow(loFixed);
+    }
+
+    /** Percent of grades at or below {@code grade}. */
+    public double percentRank(double grade) {
+        return count == 0 ? 0 : 100.0 * countAtMost(GradeStore.toFixed(grade)) / count;
+    }
+
+    /** The k-th smallest grade (0-based) as fixed point. */
+    public int select(int k) {
+        if (k < 0 || k >= count) throw new IndexOutOfBoundsException("k " + k + " out of bounds for count " + count);
+        int pos = 0, remaining = k + 1;
+        for (int step = TOP_BIT; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= BUCKETS && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos; // 1-based index pos+1 holds the value pos
+    }
+
+    /** Percentile (0–100) with linear interpolation between closest ranks; 0 when empty. */
+    public double percentile(double p) {
+        if (count == 0) return 0;
+        double rank = Math.min(Math.max(p, 0), 100) / 100.0 * (count - 1);
+        int lo = (int) Math.floor(rank);
+        int loValue = select(lo);
+        if (lo == rank) return GradeStore.toDouble(loValue);
+        int hiValue = select(lo + 1);
+        return GradeStore.toDouble(loValue) + (hiValue - loValue) / (double) GradeStore.SCALE * (rank - lo);
+    }
+
+    public double median() {
+        return percentile(50);
+    }
+
+    /**
+     * Counts per equal-width bin over 0–100; the last bin includes 100.
+     * Writes into {@code bins} so callers can reuse the array.
+     */
+    public int[] histogram(int[] bins) {
+        int n = bins.length;
+        int prev = 0;
+        for (int i = 0; i < n; i++) {
+            int upper = i == n - 1 ? BUCKETS : (int) ((long) BUCKETS * (i + 1) / n);
+            int atUpper = prefix(upper);
+            bins[i] = atUpper - prev;
+            prev = atUpper;
+        }
+        return bins;
+    }
+
+    // ---------- Updates (driven by GradeStore) ----------
+
+    void add(int fixed) {
+        update(fixed, 1);
+        count++;
+    }
+
+    void remove(int fixed) {
+        update(fixed, -1);
+        count--;
+    }
+
+    void replace(int oldFixed, int newFixed) {
+        if (oldFixed == newFixed) return;
+        update(oldFixed, -1);
+        update(newFixed, 1);
+    }
+
+    void clear() {
+        Arrays.fill(tree, 0);
+        count = 0;
+    }
+
+    /** Rebuilds the tree from per-bucket counts in O(U). */
+    void rebuild(int[] bucketCounts, int total) {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i <= BUCKETS; i++) {
+            tree[i] += bucketCounts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= BUCKETS) tree[parent] += tree[i];
+        }
+        count = total;
+    }
+
+    // ---------- Fenwick internals ----------
+
+    private void update(int fixed, int delta) {
+        for (int i = fixed + 1; i <= BUCKETS; i += i & -i) tree[i] += delta;
+    }
+
+    /** Sum of buckets [0, end). */
+    private int prefix(int end) {
+        int sum = 0;
+        for (int i = end; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package gradecalc.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder events for both calculators, so a slow session can be
+ * diagnosed from a recording instead of an attached profiler:
+ *
+ * <pre>
+ * java -XX:StartFlightRecording=filename=grades.jfr,settings=profile -jar grade-swing.jar
+ * jfr print --categories "Grade Calculator" grades.jfr
+ * </pre>
+ *
+ * Events cost next to nothing unless a recording is running. They are
+ * plain timed events: {@code begin()} before the work, fill in the fields,
+ * {@code commit()} after.
+ */
+public final class GradeEvents {
+
+    private GradeEvents() {}
+
+    @Name("gradecalc.Ingest")
+    @Label("Grade Ingestion")
+    @Category({"Grade Calculator", "Ingestion"})
+    @Description("Grades parsed and added from one source in one operation")
+    @StackTrace(false)
+    public static final class Ingest extends Event {
+        @Label("Source") public String source;
+        @Label("Added") public int added;
+        @Label("Skipped") public int skipped;
+    }
+
+    @Name("gradecalc.Refresh")
+    @Label("Summary Refresh")
+    @Category({"Grade Calculator", "User Interface"})
+    @Description("Recomputation of the header and average card after a change")
+    @StackTrace(false)
+    public static final class Refresh extends Event {
+        @Label("Grades") public int grades;
+    }
+
+    @Name("gradecalc.TablePaint")
+    @Label("Table Paint")
+    @Category({"Grade Calculator", "User Interface"})
+    @StackTrace(false)
+    public static final class TablePaint extends Event {
+        @Label("Rows") public int rows;
+    }
+
+    @Name("gradecalc.EventThreadStall")
+    @Label("Event Thread Stall")
+    @Category({"Grade Calculator", "User Interface"})
+    @Description("An AWT event kept the event dispatch thread busy beyond the stall threshold")
+    @StackTrace(false)
+    public static final class EventThreadStall extends Event {
+        @Label("Event") public String event;
+        @Label("Busy") @Timespan public long busy;
+    }
+
+    @Name("gradecalc.Load")
+    @Label("Grade Storage Load")
+    @Category({"Grade Calculator", "Persistence"})
+    @StackTrace(false)
+    public static final class Load extends Event {
+        @Label("Grades") public int grades;
+        @Label("Journal Records") public int records;
+    }
+
+    @Name("gradecalc.JournalCommit")
+    @Label("Journal Commit")
+    @Category({"Grade Calculator", "Persistence"})
+    @StackTrace(false)
+    public static final class JournalCommit extends Event {
+        @Label("Written") @DataAmount public int bytes;
+        @Label("Forced") public boolean forced;
+    }
+
+    @Name("gradecalc.Checkpoint")
+    @Label("Snapshot Checkpoint")
+    @Category({"Grade Calculator", "Persistence"})
+    @StackTrace(false)
+    public static final class Checkpoint extends Event {
+        @Label("Grades") public int grades;
+        @Label("Generation") public long generation;
+    }
+}
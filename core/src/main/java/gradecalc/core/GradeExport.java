@@ -0,0 +1,357 @@
+package gradecalc.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * Grade list plus summary statistics as CSV or JSON.
+ *
+ * {@link #of} copies the column (and category tags), into another mapped
+ * file for an off-heap store, and computes the summary, which is cheap, so
+ * it can run on the thread that owns the store while {@link #write} runs
+ * anywhere. Rows are formatted straight to ASCII
+ * bytes: every fixed-point score has its text pre-encoded once, indexes are
+ * written digit by digit, and rows are staged in a byte array and copied in
+ * bulk into a direct buffer that each writing thread reuses, then written
+ * through a {@link FileChannel}. No {@code String} or formatter is touched
+ * per row. Each file is written to a temp file and renamed into place.
+ * Close the export when done with it to free the mapped copies.
+ *
+ * A CSV export holds only the grade rows, so spreadsheets and CSV readers
+ * see a plain table; the summary goes to a {@link #summaryFile} next to it:
+ *
+ * <pre>
+ * grades.csv           grades.summary.csv
+ * index,score          statistic,value
+ * 1,88                 count,3
+ * 2,70                 mean,85.5
+ * 3,98.5               median,88
+ *                      ...
+ * </pre>
+ */
+public final class GradeExport implements Closeable {
+
+    public enum Format {
+        CSV, JSON;
+
+        /** JSON for a {@code .json} file name, CSV otherwise. */
+        public static Format of(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int STAGE_BYTES = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_BYTES));
+
+    /** ASCII text of every fixed-point score, formatted like {@code #0.##}. */
+    private static final byte[][] SCORES = new byte[GradeStore.MAX_FIXED + 1][];
+    static {
+        for (int fixed = 0; fixed <= GradeStore.MAX_FIXED; fixed++) {
+            SCORES[fixed] = scoreText(fixed).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final GradeColumn scores;
+    private final int count;
+    private final GradeColumn tags;          // null without categories
+    private final String[] categoryNames;
+    private final List<String[]> summary;    // key, value (JSON number or quoted string)
+
+    private GradeExport(GradeColumn scores, int count, GradeColumn tags, String[] categoryNames, List<String[]> summary) {
+        this.scores = scores;
+        this.count = count;
+        this.tags = tags;
+        this.categoryNames = categoryNames;
+        this.summary = summary;
+    }
+
+    // ---------- Capture ----------
+
+    public static GradeExport of(GradeStore store, GradingScale scale) {
+        return of(store, scale, null);
+    }
+
+    /** With {@code categories}, rows name their category and the letter and GPA follow the weighted mean. */
+    public static GradeExport of(GradeStore store, GradingScale scale, GradeCategories categories) {
+        int n = store.size();
+        GradeColumn scores = store.column().copy(n);
+        GradeColumn tags = null;
+        String[] names = null;
+        if (categories != null) {
+            tags = categories.tags().column().copy(n);
+            CategoryScheme scheme = categories.scheme();
+            names = new String[scheme.size()];
+            for (int c = 0; c < names.length; c++) names[c] = scheme.categoryName(c);
+        }
+
+        GradeStats stats = store.stats();
+        GradeDistribution d = store.distribution();
+        double graded = categories != null ? categories.weightedMean() : stats.mean();
+        List<String[]> summary = new ArrayList<>();
+        summary.add(new String[]{"count", Integer.toString(n)});
+        if (n > 0) {
+            summary.add(new String[]{"mean", number(stats.mean())});
+            if (categories != null) summary.add(new String[]{"weightedMean", number(graded)});
+            summary.add(new String[]{"median", number(d.median())});
+            summary.add(new String[]{"min", scoreText(d.select(0))});
+            summary.add(new String[]{"max", scoreText(d.select(n - 1))});
+            summary.add(new String[]{"stddev", number(stats.stdDev())});
+            summary.add(new String[]{"letter", '"' + scale.letterOf(graded) + '"'});
+            summary.add(new String[]{"gpa", number(scale.gpaOf(graded))});
+        }
+        return new GradeExport(scores, n, tags, names, summary);
+    }
+
+    public int count() { return count; }
+
+    /** Frees the captured copies; {@link #write} must not be called afterwards. */
+    @Override
+    public void close() {
+        scores.release();
+        if (tags != null) tags.release();
+    }
+
+    // ---------- Writing ----------
+
+    /**
+     * Writes the export to {@code file}, replacing it, plus the summary file
+     * for CSV; returns the bytes written.
+     */
+    public long write(Path file, Format format) throws IOException {
+        if (format == Format.JSON) return replace(file, this::writeJson);
+        long bytes = replace(file, this::writeCsv);
+        return bytes + replace(summaryFile(file), this::writeCsvSummary);
+    }
+
+    /** Where a CSV export's summary goes: {@code grades.csv} -> {@code grades.summary.csv}. */
+    public static Path summaryFile(Path csv) {
+        String name = csv.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return csv.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".summary.csv");
+    }
+
+    private interface Body {
+        void writeTo(Sink out) throws IOException;
+    }
+
+    private static long replace(Path file, Body body) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long bytes;
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Sink out = new Sink(ch);
+            body.writeTo(out);
+            bytes = out.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        return bytes;
+    }
+
+    private void writeCsvSummary(Sink out) throws IOException {
+        StringBuilder sb = new StringBuilder("statistic,value\n");
+        for (String[] kv : summary) sb.append(kv[0]).append(',').append(csvField(kv[1].replace("\"", ""))).append('\n');
+        out.put(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeCsv(Sink out) throws IOException {
+        out.put((tags == null ? "index,score\n" : "index,score,category\n").getBytes(StandardCharsets.UTF_8));
+
+        byte[][] names = tags == null ? null : encodeAll(categoryNames, GradeExport::csvField);
+        Rows rows = new Rows();
+        while (rows.next()) {
+            for (int j = 0; j < rows.length; j++) {
+                out.reserve(64);
+                out.putInt(rows.first + j + 1);
+                out.putByte(',');
+                out.put(SCORES[rows.values[j]]);
+                if (names != null) {
+                    out.putByte(',');
+                    out.put(names[rows.tagValues[j]]);
+                }
+                out.putByte('\n');
+            }
+        }
+    }
+
+    private void writeJson(Sink out) throws IOException {
+        StringBuilder head = new StringBuilder("{\"summary\":{");
+        boolean first = true;
+        for (String[] kv : summary) {
+            if (!first) head.append(',');
+            first = false;
+            head.append('"').append(kv[0]).append("\":").append(kv[1]);
+        }
+        head.append("},\"grades\":[");
+        out.put(head.toString().getBytes(StandardCharsets.UTF_8));
+
+        byte[][] names = tags == null ? null : encodeAll(categoryNames, n -> '"' + n.replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+        Rows rows = new Rows();
+        while (rows.next()) {
+            for (int j = 0; j < rows.length; j++) {
+                out.reserve(64);
+                if (rows.first + j > 0) out.putByte(',');
+                int score = rows.values[j];
+                if (names == null) {
+                    out.put(SCORES[score]);
+                } else {
+                    out.put(SCORE_KEY);
+                    out.put(SCORES[score]);
+                    out.put(CATEGORY_KEY);
+                    out.put(names[rows.tagValues[j]]);
+                    out.putByte('}');
+                }
+            }
+        }
+        out.put(new byte[]{']', '}', '\n'});
+    }
+
+    private static final byte[] SCORE_KEY = "{\"score\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CATEGORY_KEY = ",\"category\":".getBytes(StandardCharsets.US_ASCII);
+
+    // ---------- Formatting ----------
+
+    /** Like {@code #0.##}: 9250 -> "92.5". */
+    private static String scoreText(int fixed) {
+        int whole = fixed / GradeStore.SCALE, frac = fixed % GradeStore.SCALE;
+        if (frac == 0) return Integer.toString(whole);
+        if (frac % 10 == 0) return whole + "." + (frac / 10);
+        return whole + (frac < 10 ? ".0" : ".") + frac;
+    }
+
+    /** A statistic rounded to hundredths, in the same format as scores. */
+    private static String number(double value) {
+        long hundredths = Math.round(value * GradeStore.SCALE);
+        long whole = hundredths / GradeStore.SCALE, frac = hundredths % GradeStore.SCALE;
+        if (frac == 0) return Long.toString(whole);
+        if (frac % 10 == 0) return whole + "." + (frac / 10);
+        return whole + (frac < 10 ? ".0" : ".") + frac;
+    }
+
+    private static String csvField(String s) {
+        return s.indexOf(',') < 0 && s.indexOf('"') < 0 ? s : '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static byte[][] encodeAll(String[] values, UnaryOperator<String> encode) {
+        byte[][] out = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) out[i] = encode.apply(values[i]).getBytes(StandardCharsets.UTF_8);
+        return out;
+    }
+
+    /**
+     * Walks the captured columns: {@code values} and {@code tagValues} hold
+     * rows {@code first} onward. Heap columns are handed over
+     * whole, mapped ones copied out a chunk at a time.
+     */
+    private final class Rows {
+        short[] values, tagValues;
+        int length, first;
+        private short[] scoreChunk, tagChunk;
+
+        boolean next() {
+            first += length;
+            if (first >= count) return false;
+            short[] s = scores.array();
+            short[] t = tags == null ? null : tags.array();
+            if (first == 0 && s != null && (tags == null || t != null)) {
+                values = s;
+                tagValues = t;
+                length = count;
+                return true;
+            }
+            if (scoreChunk == null) {
+                scoreChunk = new short[Math.min(GradeColumn.CHUNK, count)];
+                if (tags != null) tagChunk = new short[scoreChunk.length];
+            }
+            length = Math.min(scoreChunk.length, count - first);
+            scores.copyTo(first, scoreChunk, 0, length);
+            if (tagChunk != null) tags.copyTo(first, tagChunk, 0, length);
+            values = scoreChunk;
+            tagValues = tagChunk;
+            return true;
+        }
+    }
+
+    /** Rows are staged in a heap array and moved in bulk into the thread's direct buffer. */
+    private static final class Sink {
+        private final FileChannel ch;
+        private final ByteBuffer buf = BUFFERS.get().clear();
+        private final byte[] stage = new byte[STAGE_BYTES];
+        private final byte[] digits = new byte[10];
+        private int pos;
+        private long written;
+
+        Sink(FileChannel ch) { this.ch = ch; }
+
+        /** Makes room for at least {@code n} more bytes in the stage. */
+        void reserve(int n) throws IOException {
+            if (pos + n > stage.length) drain();
+        }
+
+        void putByte(char c) { stage[pos++] = (byte) c; }
+
+        void put(byte[] bytes) throws IOException {
+            if (pos + bytes.length > stage.length) {
+                drain();
+                if (bytes.length > stage.length) {
+                    putLarge(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, stage, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void putInt(int v) {
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' + v % 10);
+                v /= 10;
+            } while (v != 0);
+            while (n > 0) stage[pos++] = digits[--n];
+        }
+
+        private void putLarge(byte[] bytes) throws IOException {
+            for (int off = 0; off < bytes.length; ) {
+                int n = Math.min(buf.remaining(), bytes.length - off);
+                buf.put(bytes, off, n);
+                off += n;
+                if (!buf.hasRemaining()) flush();
+            }
+        }
+
+        private void drain() throws IOException {
+            if (buf.remaining() < pos) flush();
+            buf.put(stage, 0, pos);
+            pos = 0;
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) written += ch.write(buf);
+            buf.clear();
+        }
+
+        long finish() throws IOException {
+            drain();
+            flush();
+            return written;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package gradecalc.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, crash-safe log of every {@link GradeStore} mutation.
+ *
+ * Each add/edit/remove/reset becomes an 11-byte record
+ * (op, value, index, CRC32C) written into an in-memory buffer; a background
+ * committer writes the buffer to the {@link FileChannel} in groups every few
+ * milliseconds, so the mutation itself only pays for a buffered put. On
+ * startup the log is replayed into the store and the first record that is
+ * short, fails its checksum, or does not apply cleanly marks a torn write:
+ * the file is truncated there and appending resumes. The header carries
+ * the generation of the {@link GradeSnapshot} the records apply on top of.
+ */
+public final class GradeJournal implements GradeStore.Listener, Closeable {
+
+    /** When appended records are forced to the storage device. */
+    public enum Fsync {
+        /** Never fsync; the OS flushes the page cache on its own schedule. */
+        NEVER,
+        /** Fsync once per group commit. */
+        GROUP,
+        /** Write and fsync before the mutating call returns. */
+        ALWAYS
+    }
+
+    private static final int MAGIC = 0x47524A31; // "GRJ1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16; // magic, version, generation
+    private static final int RECORD_BYTES = 11;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_SET = 2;
+    private static final byte OP_REMOVE = 3;
+    private static final byte OP_CLEAR = 4;
+
+    private final FileChannel channel;
+    private final Fsync fsync;
+    private final ScheduledExecutorService committer;
+    private final Object ioLock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private final byte[] scratch = new byte[RECORD_BYTES - 4];
+
+    private ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private ByteBuffer writing = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private IOException failure;
+    private boolean closed;
+    private long records;
+
+    private final int replayed;
+    private final long truncatedBytes;
+    private final Thread exitHook = new Thread(this::closeQuietly, "grade-journal-close");
+
+    private GradeJournal(FileChannel channel, Fsync fsync, long commitMillis,
+                         int replayed, long truncatedBytes) {
+        this.channel = channel;
+        this.fsync = fsync;
+        this.replayed = replayed;
+        this.truncatedBytes = truncatedBytes;
+        this.records = replayed;
+        committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "grade-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        if (fsync != Fsync.ALWAYS) {
+            committer.scheduleWithFixedDelay(this::commitQuietly, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ---------- Opening ----------
+
+    /**
+     * Replays {@code file} into {@code store}, then starts journaling the
+     * store's future mutations. {@code generation} identifies the snapshot
+     * already loaded into the store (0 if none): a journal from an older
+     * generation was superseded by that snapshot and is discarded.
+     */
+    public static GradeJournal open(Path file, GradeStore store, Fsync fsync, long commitMillis,
+                                    long generation) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int replayed = 0;
+            long size = ch.size(), good = HEADER_BYTES;
+            if (size < HEADER_BYTES) {
+                writeHeader(ch, generation);
+                size = HEADER_BYTES;
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (header.hasRemaining() && ch.read(header, header.position()) >= 0) { }
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != VERSION)
+                    throw new IOException("Not a grade journal: " + file);
+                long journalGeneration = header.getLong();
+                if (journalGeneration > generation)
+                    throw new IOException("Journal " + file + " is newer than the loaded snapshot");
+                if (journalGeneration < generation) {
+                    writeHeader(ch, generation);
+                    size = HEADER_BYTES;
+                } else {
+                    long[] result = replay(ch, store);
+                    replayed = (int) result[0];
+                    good = result[1];
+                }
+            }
+            long truncated = size > good ? size - good : 0;
+            if (truncated > 0) {
+                ch.truncate(good);
+                ch.force(true);
+            }
+            ch.position(good);
+
+            GradeJournal journal = new GradeJournal(ch, fsync, commitMillis, replayed, truncated);
+            store.addListener(journal);
+            Runtime.getRuntime().addShutdownHook(journal.exitHook);
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private static void writeHeader(FileChannel ch, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        ch.truncate(0);
+        while (header.hasRemaining()) ch.write(header, header.position());
+        ch.force(true);
+    }
+
+    /** Applies records to the store; returns {records applied, offset after last good record}. */
+    private static long[] replay(FileChannel ch, GradeStore store) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        CRC32C crc = new CRC32C();
+        byte[] body = new byte[RECORD_BYTES - 4];
+        long offset = HEADER_BYTES;
+        long read = HEADER_BYTES;
+        int applied = 0;
+        Removals removals = new Removals(store);
+
+        while (true) {
+            int n = ch.read(buf, read);
+            if (n > 0) read += n;
+            buf.flip();
+            while (buf.remaining() >= RECORD_BYTES) {
+                buf.get(body);
+                int stored = buf.getInt();
+                crc.reset();
+                crc.update(body, 0, body.length);
+                if ((int) crc.getValue() != stored || !apply(store, body, removals)) {
+                    removals.flush();
+                    return new long[]{applied, offset};
+                }
+                applied++;
+                offset += RECORD_BYTES;
+            }
+            buf.compact();
+            if (n <= 0) {
+                removals.flush();
+                return new long[]{applied, offset};
+            }
+        }
+    }
+
+    /**
+     * Coalesces a run of REMOVE records with strictly falling indexes, as
+     * {@link GradeStore#removeAll} logs them, back into one bulk removal so
+     * replaying k removals costs one compaction rather than k array shifts.
+     */
+    private static final class Removals {
+        private final GradeStore store;
+        private int[] indexes = new int[64];
+        private int count;
+
+        Removals(GradeStore store) { this.store = store; }
+
+        /** Size the store will have once the pending removals are applied. */
+        int logicalSize() { return store.size() - count; }
+
+        /** Queues {@code index} if it continues the run; returns false if the run must be flushed first. */
+        boolean offer(int index) {
+            if (count > 0 && index >= indexes[count - 1]) return false;
+            if (count == indexes.length) indexes = Arrays.copyOf(indexes, count * 2);
+            indexes[count++] = index;
+            return true;
+        }
+
+        void flush() {
+            if (count == 0) return;
+            store.removeAll(Arrays.copyOf(indexes, count));
+            count = 0;
+        }
+    }
+
+    private static boolean apply(GradeStore store, byte[] r, Removals removals) {
+        int value = ((r[1] & 0xFF) << 8) | (r[2] & 0xFF);
+        int index = ((r[3] & 0xFF) << 24) | ((r[4] & 0xFF) << 16) | ((r[5] & 0xFF) << 8) | (r[6] & 0xFF);
+        boolean validValue = value <= GradeStore.MAX_FIXED;
+        if (r[0] == OP_REMOVE) {
+            if (index < 0 || index >= removals.logicalSize()) return false;
+            if (!removals.offer(index)) {
+                removals.flush();
+                removals.offer(index);
+            }
+            return true;
+        }
+        removals.flush();
+        switch (r[0]) {
+            case OP_ADD -> {
+                if (!validValue || index != store.size()) return false;
+                store.addFixed(value);
+            }
+            case OP_SET -> {
+                if (!validValue || index < 0 || index >= store.size()) return false;
+                store.setFixed(index, value);
+            }
+            case OP_CLEAR -> store.clear();
+            default -> { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Leaves closing at exit to the caller. The JVM starts every shutdown hook
+     * at once, so a caller that still writes during shutdown must drop the
+     * journal's own hook and close it after its last write.
+     */
+    public void keepOpenAtExit() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(exitHook);
+        } catch (IllegalStateException alreadyExiting) {
+            // the hook is running or about to; nothing left to order
+        }
+    }
+
+    public int replayed() { return replayed; }
+
+    /** Records in the log since it was opened or last reset, including replayed ones. */
+    public synchronized long records() { return records; }
+
+    /** Bytes dropped from the tail on open because of a torn or corrupt write. */
+    public long truncatedBytes() { return truncatedBytes; }
+
+    // ---------- GradeStore.Listener ----------
+
+    @Override public void added(int index, int fixed) { append(OP_ADD, index, fixed); }
+
+    @Override public void changed(int index, int oldFixed, int newFixed) { append(OP_SET, index, newFixed); }
+
+    @Override public void removed(int index, int oldFixed) { append(OP_REMOVE, index, oldFixed); }
+
+    @Override public void cleared() { append(OP_CLEAR, 0, 0); }
+
+    // ---------- Writing ----------
+
+    private void append(byte op, int index, int value) {
+        while (true) {
+            synchronized (this) {
+                if (closed || failure != null) return; // journaling stopped; keep the app usable
+                if (pending.remaining() >= RECORD_BYTES) {
+                    scratch[0] = op;
+                    scratch[1] = (byte) (value >>> 8);
+                    scratch[2] = (byte) value;
+                    scratch[3] = (byte) (index >>> 24);
+                    scratch[4] = (byte) (index >>> 16);
+                    scratch[5] = (byte) (index >>> 8);
+                    scratch[6] = (byte) index;
+                    crc.reset();
+                    crc.update(scratch, 0, scratch.length);
+                    pending.put(scratch).putInt((int) crc.getValue());
+                    records++;
+                    break;
+                }
+            }
+            commitQuietly(); // buffer full: commit inline, then retry
+        }
+        if (fsync == Fsync.ALWAYS) commitQuietly();
+    }
+
+    /** Writes everything appended so far and applies the fsync policy. */
+    public void commit() throws IOException {
+        synchronized (ioLock) {
+            ByteBuffer out;
+            synchronized (this) {
+                if (failure != null) throw failure;
+                if (pending.position() == 0) return;
+                out = pending;
+                pending = writing;
+                writing = out;
+            }
+            out.flip();
+            GradeEvents.JournalCommit event = new GradeEvents.JournalCommit();
+            event.begin();
+            try {
+                event.bytes = out.remaining();
+                while (out.hasRemaining()) channel.write(out);
+                if (fsync != Fsync.NEVER) channel.force(false);
+                event.forced = fsync != Fsync.NEVER;
+                event.commit();
+            } catch (IOException e) {
+                synchronized (this) { failure = e; }
+                throw e;
+            } finally {
+                out.clear();
+            }
+        }
+    }
+
+    /**
+     * Discards every record and restarts the log at {@code generation}.
+     * Called after a snapshot has captured the store, on the thread that
+     * mutates it.
+     */
+    public void reset(long generation) throws IOException {
+        synchronized (ioLock) {
+            synchronized (this) {
+                if (closed) return;
+                pending.clear();
+                records = 0;
+            }
+            writeHeader(channel, generation);
+            channel.position(HEADER_BYTES);
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            commit();
+        } catch (IOException e) {
+            System.err.println("Grade journal write failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+        }
+        committer.shutdown();
+        try {
+            commit();
+            channel.force(true);
+        } finally {
+            synchronized (this) { closed = true; }
+            channel.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("Grade journal close failed: " + e.getMessage());
+        }
+    }
+}
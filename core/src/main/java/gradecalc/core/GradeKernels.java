@@ -0,0 +1,156 @@
+package gradecalc.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Whole-column aggregation for bulk recomputation (snapshot loads, rebuilding
+ * a distribution, re-curving).
+ *
+ * Columns above {@link #PARALLEL_THRESHOLD} values are split across the
+ * common fork-join pool; smaller ones, or any column on a single-core
+ * machine, run in the calling thread. Every partial result is an exact
+ * integer (long sums, int bucket counts), and integer addition is
+ * associative, so the combined result is bit-identical to a sequential pass
+ * however the work is split. The leaf loops are branch-free counted loops
+ * over a primitive array so the JIT can unroll and vectorize them; a
+ * memory-mapped column is fed through them a chunk at a time, in one
+ * sequential pass, since reading it is bound by paging the file in.
+ */
+public final class GradeKernels {
+
+    /** Below this many values the fork-join overhead outweighs the gain. */
+    public static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    private static final int LEAF = 1 << 16;
+
+    private GradeKernels() {}
+
+    /** Count and exact sums of a range of fixed-point grades. */
+    public static final class Summary {
+        public final int count;
+        public final long sum;
+        public final long sumSquares;
+        /** False if any value lies outside 0..{@link GradeStore#MAX_FIXED}. */
+        public final boolean inRange;
+
+        Summary(int count, long sum, long sumSquares, boolean inRange) {
+            this.count = count;
+            this.sum = sum;
+            this.sumSquares = sumSquares;
+            this.inRange = inRange;
+        }
+
+        Summary merge(Summary o) {
+            return new Summary(count + o.count, sum + o.sum, sumSquares + o.sumSquares, inRange && o.inRange);
+        }
+    }
+
+    // ---------- Summary ----------
+
+    public static Summary summarize(short[] values, int from, int to) {
+        if (!parallel(to - from)) return summarizeRange(values, from, to);
+        return ForkJoinPool.commonPool().invoke(new SummaryTask(values, from, to));
+    }
+
+    static Summary summarize(GradeColumn column, int from, int to) {
+        short[] array = column.array();
+        if (array != null) return summarize(array, from, to);
+        Summary[] total = {new Summary(0, 0, 0, true)};
+        column.forEachChunk(from, to, (values, offset, length, first) ->
+                total[0] = total[0].merge(summarizeRange(values, offset, offset + length)));
+        return total[0];
+    }
+
+    private static Summary summarizeRange(short[] values, int from, int to) {
+        long sum = 0, sumSquares = 0;
+        int outOfRange = 0; // sign bit set by any v < 0 or v > MAX_FIXED; branch-free so the loop vectorizes
+        for (int i = from; i < to; i++) {
+            int v = values[i];
+            sum += v;
+            sumSquares += v * v; // |v| <= 32767, so the square fits in an int
+            outOfRange |= v | (GradeStore.MAX_FIXED - v);
+        }
+        return new Summary(to - from, sum, sumSquares, outOfRange >= 0);
+    }
+
+    private static final class SummaryTask extends RecursiveTask<Summary> {
+        private final short[] values;
+        private final int from, to;
+
+        SummaryTask(short[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected Summary compute() {
+            if (to - from <= LEAF) return summarizeRange(values, from, to);
+            int mid = (from + to) >>> 1;
+            SummaryTask right = new SummaryTask(values, mid, to);
+            right.fork();
+            Summary left = new SummaryTask(values, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    // ---------- Bucket counts ----------
+
+    /**
+     * Number of occurrences of each fixed-point score 0..{@link GradeStore#MAX_FIXED}
+     * in the range. Values must already be in range.
+     */
+    public static int[] bucketCounts(short[] values, int from, int to) {
+        if (!parallel(to - from)) {
+            int[] buckets = new int[GradeStore.MAX_FIXED + 1];
+            countRange(values, from, to, buckets);
+            return buckets;
+        }
+        return ForkJoinPool.commonPool().invoke(new BucketTask(values, from, to));
+    }
+
+    static int[] bucketCounts(GradeColumn column, int from, int to) {
+        short[] array = column.array();
+        if (array != null) return bucketCounts(array, from, to);
+        int[] buckets = new int[GradeStore.MAX_FIXED + 1];
+        column.forEachChunk(from, to, (values, offset, length, first) -> countRange(values, offset, offset + length, buckets));
+        return buckets;
+    }
+
+    private static void countRange(short[] values, int from, int to, int[] buckets) {
+        for (int i = from; i < to; i++) buckets[values[i]]++;
+    }
+
+    private static final class BucketTask extends RecursiveTask<int[]> {
+        // Each leaf owns a 40 KB table, so leaves are larger than for sums
+        private static final int BUCKET_LEAF = LEAF * 8;
+
+        private final short[] values;
+        private final int from, to;
+
+        BucketTask(short[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected int[] compute() {
+            if (to - from <= BUCKET_LEAF) {
+                int[] buckets = new int[GradeStore.MAX_FIXED + 1];
+                countRange(values, from, to, buckets);
+                return buckets;
+            }
+            int mid = (from + to) >>> 1;
+            BucketTask right = new BucketTask(values, mid, to);
+            right.fork();
+            int[] left = new BucketTask(values, from, mid).compute();
+            int[] other = right.join();
+            for (int i = 0; i < left.length; i++) left[i] += other[i];
+            return left;
+        }
+    }
+
+    private static boolean parallel(int length) {
+        return length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+}
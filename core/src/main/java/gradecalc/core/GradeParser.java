@@ -0,0 +1,173 @@
+package gradecalc.core;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Streaming tokenizer for pasted grade lists.
+ *
+ * Recognises the same tokens as the old {@code -?\d+(?:[.,]\d+)?} pattern and
+ * applies the same 0–100 rule, but scans the input once and builds each score
+ * straight into hundredths fixed-point with no intermediate strings. Parser
+ * state survives between {@link #feed} calls, so input can arrive in chunks
+ * (document segments, file buffers) and a token may straddle a boundary.
+ *
+ * A comma between digits is a decimal point, as typed in many locales. For
+ * machine-written lists such as {@code 90,80,70}, {@link #pointOnly} makes
+ * '.' the only decimal point and a comma always a separator.
+ */
+public final class GradeParser {
+
+    private static final int IDLE = 0;   // between tokens
+    private static final int MINUS = 1;  // saw '-', waiting for a digit
+    private static final int INT = 2;    // integer digits
+    private static final int SEP = 3;    // saw a decimal point after digits
+    private static final int FRAC = 4;   // fraction digits
+
+    private static final int CHUNK = 8 * 1024;
+
+    private final IntConsumer sink;
+    private final boolean decimalComma;
+    private final byte[] scratch = new byte[CHUNK];
+
+    private int state = IDLE;
+    private boolean negative;
+    private int whole;          // integer part, saturates at 101
+    private int hundredths;     // first two fraction digits
+    private int fracDigits;     // fraction digits seen, capped at 3
+    private boolean roundUp;    // third fraction digit >= 5
+    private boolean fracNonZero;
+
+    private int added, skipped, scanned;
+
+    public GradeParser(IntConsumer sink) {
+        this(sink, true);
+    }
+
+    private GradeParser(IntConsumer sink, boolean decimalComma) {
+        this.sink = sink;
+        this.decimalComma = decimalComma;
+    }
+
+    /** A parser that reads {@code 90,5} as two grades, 90 and 5; only '.' starts a fraction. */
+    public static GradeParser pointOnly(IntConsumer sink) {
+        return new GradeParser(sink, false);
+    }
+
+    public int added() { return added; }
+
+    public int skipped() { return skipped; }
+
+    public int scanned() { return scanned; }
+
+    /** Clears counters and any half-read token. */
+    public GradeParser reset() {
+        state = IDLE;
+        added = skipped = scanned = 0;
+        return this;
+    }
+
+    public GradeParser feed(CharSequence text) {
+        return feed(text, 0, text.length());
+    }
+
+    public GradeParser feed(CharSequence text, int from, int to) {
+        // Narrow to bytes so there is a single scanning loop; a non-ASCII char
+        // can never be part of a token, so it maps to a plain separator.
+        while (from < to) {
+            int n = Math.min(CHUNK, to - from);
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(from + i);
+                scratch[i] = c < 0x80 ? (byte) c : (byte) 0x80;
+            }
+            scan(scratch, 0, n);
+            from += n;
+        }
+        return this;
+    }
+
+    /**
+     * Feeds the remaining bytes of {@code bytes} as ASCII. Bytes of
+     * multi-byte UTF-8 sequences are never digits or separators, so UTF-8
+     * input tokenizes the same as its decoded text.
+     */
+    public GradeParser feed(ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            scan(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.arrayOffset() + bytes.limit());
+            bytes.position(bytes.limit());
+            return this;
+        }
+        while (bytes.hasRemaining()) {
+            int n = Math.min(CHUNK, bytes.remaining());
+            bytes.get(scratch, 0, n);
+            scan(scratch, 0, n);
+        }
+        return this;
+    }
+
+    /** Flushes a token that ends at end of input. */
+    public GradeParser finish() {
+        if (state == INT || state == SEP || state == FRAC) emit(negative, whole, hundredths, roundUp, fracNonZero);
+        state = IDLE;
+        return this;
+    }
+
+    /** The state machine; token state lives in locals for the length of the run. */
+    private void scan(byte[] in, int from, int to) {
+        int state = this.state;
+        boolean negative = this.negative, roundUp = this.roundUp, fracNonZero = this.fracNonZero;
+        int whole = this.whole, hundredths = this.hundredths, fracDigits = this.fracDigits;
+
+        for (int i = from; i < to; i++) {
+            int c = in[i];
+            int d = c - '0';
+            if (d >= 0 && d <= 9) {
+                switch (state) {
+                    case INT -> { if (whole <= 100) whole = Math.min(whole * 10 + d, 101); }
+                    case SEP, FRAC -> {
+                        state = FRAC;
+                        if (fracDigits == 0) hundredths = d * 10;
+                        else if (fracDigits == 1) hundredths += d;
+                        else if (fracDigits == 2) roundUp = d >= 5;
+                        if (d != 0) fracNonZero = true;
+                        if (fracDigits < 3) fracDigits++;
+                    }
+                    default -> {
+                        negative = state == MINUS;
+                        state = INT;
+                        whole = d;
+                        hundredths = fracDigits = 0;
+                        roundUp = fracNonZero = false;
+                    }
+                }
+                continue;
+            }
+            if (state == INT && (c == '.' || (c == ',' && decimalComma))) {
+                state = SEP;
+                continue;
+            }
+            if (state >= INT) emit(negative, whole, hundredths, roundUp, fracNonZero);
+            // c ends the previous token (if any) and may start the next one
+            state = c == '-' ? MINUS : IDLE;
+        }
+
+        this.state = state;
+        this.negative = negative;
+        this.roundUp = roundUp;
+        this.fracNonZero = fracNonZero;
+        this.whole = whole;
+        this.hundredths = hundredths;
+        this.fracDigits = fracDigits;
+    }
+
+    private void emit(boolean negative, int whole, int hundredths, boolean roundUp, boolean fracNonZero) {
+        scanned++;
+        boolean nonZero = whole != 0 || fracNonZero;
+        if ((negative && nonZero) || whole > 100 || (whole == 100 && fracNonZero)) {
+            skipped++;
+            return;
+        }
+        added++;
+        sink.accept(whole * GradeStore.SCALE + hundredths + (roundUp ? 1 : 0));
+    }
+}
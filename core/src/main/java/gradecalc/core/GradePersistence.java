@@ -0,0 +1,108 @@
+package gradecalc.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Durable storage for a {@link GradeStore}: a {@link GradeSnapshot} plus the
+ * {@link GradeJournal} of mutations made since it was taken.
+ *
+ * Opening loads the snapshot and replays the journal on top of it.
+ * {@link #checkpoint()} writes a fresh snapshot under the next generation and
+ * empties the journal, so a crash between the two steps is harmless: the
+ * journal's older generation tells the next start to ignore it.
+ *
+ * Configured with system properties: {@code grades.dir} (data directory),
+ * {@code grades.fsync} (never|group|always), {@code grades.commitMs} (group
+ * commit interval) and {@code grades.snapshot} (raw|delta).
+ */
+public final class GradePersistence implements Closeable {
+
+    private final GradeStore store;
+    private final Path snapshotFile;
+    private final GradeSnapshot.Encoding encoding;
+    private final GradeJournal journal;
+    private final String startupReport;
+    private long generation;
+
+    private GradePersistence(GradeStore store, Path snapshotFile, GradeSnapshot.Encoding encoding,
+                             GradeJournal journal, long generation, String startupReport) {
+        this.store = store;
+        this.snapshotFile = snapshotFile;
+        this.encoding = encoding;
+        this.journal = journal;
+        this.generation = generation;
+        this.startupReport = startupReport;
+    }
+
+    public static Path dataDir() {
+        return Path.of(System.getProperty("grades.dir", System.getProperty("user.home") + "/.grade-calculator"));
+    }
+
+    public static GradePersistence openDefault(GradeStore store) throws IOException {
+        return openDefault(store, dataDir());
+    }
+
+    /** Opens {@code dir} with the same settings as the default store, e.g. for a companion column. */
+    public static GradePersistence openDefault(GradeStore store, Path dir) throws IOException {
+        GradeJournal.Fsync fsync = GradeJournal.Fsync.valueOf(System.getProperty("grades.fsync", "group").trim().toUpperCase());
+        long commitMillis = Long.getLong("grades.commitMs", 5);
+        GradeSnapshot.Encoding encoding = "delta".equalsIgnoreCase(System.getProperty("grades.snapshot", "raw").trim())
+                ? GradeSnapshot.Encoding.DELTA_VARINT : GradeSnapshot.Encoding.RAW;
+        return open(dir, store, fsync, commitMillis, encoding);
+    }
+
+    public static GradePersistence open(Path dir, GradeStore store, GradeJournal.Fsync fsync, long commitMillis,
+                                        GradeSnapshot.Encoding encoding) throws IOException {
+        Path snapshotFile = dir.resolve("grades.snapshot");
+
+        GradeEvents.Load event = new GradeEvents.Load();
+        event.begin();
+        long t0 = System.nanoTime();
+        long generation = GradeSnapshot.load(snapshotFile, store);
+        int fromSnapshot = store.size();
+        long t1 = System.nanoTime();
+        GradeJournal journal = GradeJournal.open(dir.resolve("grades.journal"), store, fsync, commitMillis, generation);
+        long t2 = System.nanoTime();
+        event.grades = store.size();
+        event.records = journal.replayed();
+        event.commit();
+
+        String report = String.format("Loaded %,d grades in %.1f ms (snapshot: %,d in %.1f ms, journal: %,d records in %.1f ms)",
+                store.size(), (t2 - t0) / 1e6, fromSnapshot, (t1 - t0) / 1e6, journal.replayed(), (t2 - t1) / 1e6);
+        return new GradePersistence(store, snapshotFile, encoding, journal, generation, report);
+    }
+
+    /** One-line timing breakdown of the last open. */
+    public String startupReport() { return startupReport; }
+
+    /** Makes {@link #close()} the caller's job at exit too; see {@link GradeJournal#keepOpenAtExit()}. */
+    public void keepOpenAtExit() { journal.keepOpenAtExit(); }
+
+    /** Bytes dropped from the journal tail on open because of a torn write. */
+    public long truncatedBytes() { return journal.truncatedBytes(); }
+
+    /** Folds the journal into a new snapshot. Call on the thread that mutates the store. */
+    public void checkpoint() throws IOException {
+        long next = generation + 1;
+        GradeEvents.Checkpoint event = new GradeEvents.Checkpoint();
+        event.begin();
+        GradeSnapshot.write(store, snapshotFile, next, encoding);
+        journal.reset(next);
+        generation = next;
+        event.grades = store.size();
+        event.generation = next;
+        event.commit();
+    }
+
+    /** Checkpoints if anything changed since the last snapshot, then closes the journal. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (journal.records() > 0) checkpoint();
+        } finally {
+            journal.close();
+        }
+    }
+}
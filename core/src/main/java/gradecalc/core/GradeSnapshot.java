@@ -0,0 +1,210 @@
+package gradecalc.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Columnar binary snapshot of a {@link GradeStore}.
+ *
+ * Layout (little-endian): a 48-byte header (magic, version, generation,
+ * count, encoding, exact sum, payload length, payload CRC32C) followed by
+ * the score column, either as raw fixed-point shorts or as zigzag
+ * delta-varints. Snapshots are written to a temp file and atomically
+ * renamed into place, and loaded through {@link FileChannel#map} straight
+ * into the store's column, whether that is on the heap or itself mapped.
+ */
+public final class GradeSnapshot {
+
+    public enum Encoding {
+        /** Two bytes per grade; fastest to load. */
+        RAW,
+        /** Zigzag varint of the difference to the previous grade; smaller when neighbours are close. */
+        DELTA_VARINT
+    }
+
+    private static final int MAGIC = 0x47525331; // "GRS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private GradeSnapshot() {}
+
+    // ---------- Writing ----------
+
+    public static void write(GradeStore store, Path file, long generation, Encoding encoding) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            ch.position(HEADER_BYTES);
+
+            GradeColumn column = store.column();
+            int count = store.size();
+            long payload = 0;
+            if (encoding == Encoding.RAW) {
+                int perChunk = BUFFER_BYTES / 2;
+                for (int off = 0; off < count; off += perChunk) {
+                    int n = Math.min(perChunk, count - off);
+                    column.copyTo(off, buf.asShortBuffer(), n);
+                    buf.position(n * 2);
+                    payload += flush(ch, buf, crc);
+                }
+            } else {
+                short[] chunk = new short[Math.min(GradeColumn.CHUNK, Math.max(1, count))];
+                int prev = 0;
+                for (int off = 0; off < count; off += chunk.length) {
+                    int n = Math.min(chunk.length, count - off);
+                    column.copyTo(off, chunk, 0, n);
+                    for (int j = 0; j < n; j++) {
+                        if (buf.remaining() < 3) payload += flush(ch, buf, crc);
+                        int delta = chunk[j] - prev;
+                        prev = chunk[j];
+                        int zz = (delta << 1) ^ (delta >> 31);
+                        while ((zz & ~0x7F) != 0) {
+                            buf.put((byte) ((zz & 0x7F) | 0x80));
+                            zz >>>= 7;
+                        }
+                        buf.put((byte) zz);
+                    }
+                }
+                payload += flush(ch, buf, crc);
+            }
+
+            buf.clear();
+            buf.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(count)
+               .put((byte) encoding.ordinal()).put((byte) 0).put((byte) 0).put((byte) 0)
+               .putLong(store.sumFixed()).putLong(payload).putInt((int) crc.getValue()).putInt(0);
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf, buf.position());
+            ch.force(true);
+        }
+
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (parent != null) {
+            try (FileChannel dir = FileChannel.open(parent, StandardOpenOption.READ)) {
+                dir.force(true); // make the rename itself durable
+            } catch (IOException ignored) {} // not supported on every platform
+        }
+    }
+
+    private static int flush(FileChannel ch, ByteBuffer buf, CRC32C crc) throws IOException {
+        buf.flip();
+        int n = buf.remaining();
+        crc.update(buf);
+        buf.rewind();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+        return n;
+    }
+
+    // ---------- Loading ----------
+
+    /**
+     * Loads {@code file} into {@code store}, replacing its contents.
+     * Returns the snapshot's generation, or 0 if there is no snapshot.
+     */
+    public static long load(Path file, GradeStore store) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw new IOException("Truncated grade snapshot: " + file);
+            if (size > Integer.MAX_VALUE) throw new IOException("Grade snapshot too large to map: " + file);
+
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (map.getInt() != MAGIC || map.getInt() != VERSION)
+                throw new IOException("Not a grade snapshot: " + file);
+            long generation = map.getLong();
+            int count = map.getInt();
+            int encoding = map.get();
+            map.position(map.position() + 3);
+            long sum = map.getLong();
+            long payloadBytes = map.getLong();
+            int payloadCrc = map.getInt();
+            if (count < 0 || encoding < 0 || encoding >= Encoding.values().length || payloadBytes != size - HEADER_BYTES)
+                throw new IOException("Corrupt grade snapshot header: " + file);
+
+            ByteBuffer payload = map.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != payloadCrc)
+                throw new IOException("Grade snapshot checksum mismatch: " + file);
+
+            GradeColumn values = store.column().emptyLike(count);
+            try {
+                if (encoding == Encoding.RAW.ordinal()) {
+                    if (payloadBytes != 2L * count) throw new IOException("Corrupt grade snapshot payload: " + file);
+                    copyRaw(payload.asShortBuffer(), values, count);
+                } else {
+                    decodeDeltas(payload, values, count, file);
+                }
+                GradeKernels.Summary summary = GradeKernels.summarize(values, 0, count);
+                if (summary.sum != sum) throw new IOException("Grade snapshot sum mismatch: " + file);
+                store.load(values, count, summary);
+            } catch (IllegalArgumentException e) {
+                values.release();                   // the store never took it
+                throw new IOException("Corrupt grade snapshot payload: " + file, e);
+            } catch (IOException | RuntimeException e) {
+                values.release();
+                throw e;
+            }
+            return generation;
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    private static void copyRaw(ShortBuffer in, GradeColumn out, int count) {
+        short[] array = out.array();
+        if (array != null) {
+            in.get(array, 0, count);
+            return;
+        }
+        short[] chunk = new short[Math.min(GradeColumn.CHUNK, Math.max(1, count))];
+        for (int off = 0; off < count; off += chunk.length) {
+            int n = Math.min(chunk.length, count - off);
+            in.get(chunk, 0, n);
+            out.copyFrom(chunk, 0, off, n);
+        }
+    }
+
+    /** Decodes straight into a heap column's array, or through a chunk into a mapped one. */
+    private static void decodeDeltas(ByteBuffer in, GradeColumn out, int count, Path file) throws IOException {
+        short[] array = out.array();
+        short[] chunk = array != null ? array : new short[Math.min(GradeColumn.CHUNK, Math.max(1, count))];
+        int filled = 0, flushed = 0;
+        int prev = 0;
+        for (int i = 0; i < count; i++) {
+            int zz = 0, shift = 0;
+            byte b;
+            do {
+                if (!in.hasRemaining() || shift > 28) throw new IOException("Corrupt grade snapshot payload: " + file);
+                b = in.get();
+                zz |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            prev += (zz >>> 1) ^ -(zz & 1);
+            chunk[filled++] = (short) prev;
+            if (filled == chunk.length && array == null) {
+                out.copyFrom(chunk, 0, flushed, filled);
+                flushed += filled;
+                filled = 0;
+            }
+        }
+        if (array == null) out.copyFrom(chunk, 0, flushed, filled);
+        if (in.hasRemaining()) throw new IOException("Corrupt grade snapshot payload: " + file);
+    }
+}
@@ -0,0 +1,83 @@
+package gradecalc.core;
+
+/**
+ * Running statistics for a {@link GradeStore}, updated on every mutation so
+ * reads are O(1) no matter how many grades are stored.
+ *
+ * Values are hundredths fixed-point, so the sum and the sum of squares are
+ * kept as exact longs and retracting an edited or removed grade never drifts.
+ * Min and max come from the store's {@link GradeDistribution}, so retracting
+ * the current extreme costs O(log U) in the 0–100 domain rather than a rescan.
+ */
+public final class GradeStats {
+
+    private final GradeStore owner;
+    private int count;
+    private long sum;
+    private long sumSquares;
+
+    GradeStats(GradeStore owner) {
+        this.owner = owner;
+    }
+
+    // ---------- Reads ----------
+
+    public int count() { return count; }
+
+    public long sumFixed() { return sum; }
+
+    public double mean() {
+        return count == 0 ? 0 : sum / (double) ((long) count * GradeStore.SCALE);
+    }
+
+    public double min() {
+        return count == 0 ? 0 : GradeStore.toDouble(owner.distribution().select(0));
+    }
+
+    public double max() {
+        return count == 0 ? 0 : GradeStore.toDouble(owner.distribution().select(count - 1));
+    }
+
+    /** Population variance in squared grade points. */
+    public double variance() {
+        if (count == 0) return 0;
+        double meanFixed = sum / (double) count;
+        double spread = sumSquares / (double) count - meanFixed * meanFixed;
+        return Math.max(0, spread) / ((double) GradeStore.SCALE * GradeStore.SCALE);
+    }
+
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+
+    // ---------- Updates (driven by GradeStore) ----------
+
+    void add(int fixed) {
+        count++;
+        sum += fixed;
+        sumSquares += (long) fixed * fixed;
+    }
+
+    void remove(int fixed) {
+        count--;
+        sum -= fixed;
+        sumSquares -= (long) fixed * fixed;
+    }
+
+    void replace(int oldFixed, int newFixed) {
+        sum += newFixed - oldFixed;
+        sumSquares += (long) newFixed * newFixed - (long) oldFixed * oldFixed;
+    }
+
+    void reset(int count, long sum, long sumSquares) {
+        this.count = count;
+        this.sum = sum;
+        this.sumSquares = sumSquares;
+    }
+
+    void clear() {
+        count = 0;
+        sum = 0;
+        sumSquares = 0;
+    }
+}
@@ -0,0 +1,262 @@
+package gradecalc.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Grade column shared by both calculators.
+ *
+ * Scores are validated to 0–100, so each one is kept as a hundredths
+ * fixed-point short (92.5 is stored as 9250) in a growable primitive array.
+ * Sums are exact longs, so the average never accumulates rounding error,
+ * and a {@link GradeStats} and {@link GradeDistribution} are updated in
+ * lockstep with every mutation. The distribution is built on first use, so
+ * the many small stores of a {@link Gradebook} stay a few dozen bytes each.
+ *
+ * An {@link #offHeap} store keeps its column in a memory-mapped file
+ * instead, so tens of millions of grades add nothing to the heap the
+ * collector has to scan; reads and aggregates go to the mapped pages
+ * directly.
+ */
+public final class GradeStore {
+
+    public static final int SCALE = 100;
+    public static final int MAX_FIXED = 100 * SCALE;
+
+    /** Observer for mutations, e.g. a journal that makes them durable. */
+    public interface Listener {
+        void added(int index, int fixed);
+        void changed(int index, int oldFixed, int newFixed);
+        void removed(int index, int oldFixed);
+        /**
+         * Rows at {@code indexes[0, count)}, ascending and numbered as they
+         * were before the call, were removed at once. By default this reports
+         * them one at a time, highest first, which is the same sequence of
+         * {@link #removed} calls as removing them individually.
+         */
+        default void removedAll(int[] indexes, int[] oldFixed, int count) {
+            for (int i = count - 1; i >= 0; i--) removed(indexes[i], oldFixed[i]);
+        }
+        /** Called before the contents are dropped, so they can still be read. */
+        void cleared();
+    }
+
+    private final GradeStats stats = new GradeStats(this);
+    private GradeDistribution distribution;
+    private GradeColumn column;
+    private int size;
+    private Listener[] listeners = new Listener[0];
+
+    public GradeStore() {
+        this(16);
+    }
+
+    public GradeStore(int initialCapacity) {
+        this(new GradeColumn.Heap(initialCapacity));
+    }
+
+    private GradeStore(GradeColumn column) {
+        this.column = column;
+    }
+
+    /** An empty store whose column is a scratch file in {@code dir}, mapped into memory as it grows. */
+    public static GradeStore offHeap(Path dir) throws IOException {
+        return new GradeStore(new GradeColumn.Mapped(dir, 1));
+    }
+
+    /** Off the heap in {@code dir} with {@code -Dgrades.offHeap=true}, otherwise an ordinary store. */
+    public static GradeStore configured(Path dir) throws IOException {
+        return Boolean.getBoolean("grades.offHeap") ? offHeap(dir) : new GradeStore();
+    }
+
+    /** A new empty store kept the same way as this one, e.g. for a column that runs alongside it. */
+    public GradeStore companion() {
+        return new GradeStore(column.emptyLike(Math.max(16, size)));
+    }
+
+    public boolean isOffHeap() { return column.array() == null; }
+
+    // ---------- Fixed-point conversion ----------
+
+    public static int toFixed(double grade) {
+        return (int) Math.round(grade * SCALE);
+    }
+
+    public static double toDouble(int fixed) {
+        return fixed / (double) SCALE;
+    }
+
+    // ---------- Reads ----------
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public double get(int index) {
+        return toDouble(getFixed(index));
+    }
+
+    public int getFixed(int index) {
+        checkIndex(index);
+        return column.get(index);
+    }
+
+    public long sumFixed() { return stats.sumFixed(); }
+
+    public double mean() { return stats.mean(); }
+
+    /** Live statistics, kept current by every mutation. */
+    public GradeStats stats() { return stats; }
+
+    /** Order statistics (median, percentiles, histogram), kept current by every mutation once built. */
+    public GradeDistribution distribution() {
+        if (distribution == null) {
+            distribution = new GradeDistribution();
+            distribution.rebuild(GradeKernels.bucketCounts(column, 0, size), size);
+        }
+        return distribution;
+    }
+
+    // ---------- Listeners ----------
+
+    public void addListener(Listener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(Listener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                Listener[] next = new Listener[listeners.length - 1];
+                System.arraycopy(listeners, 0, next, 0, i);
+                System.arraycopy(listeners, i + 1, next, i, next.length - i);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    // ---------- Mutations ----------
+
+    public void add(double grade) {
+        addFixed(toFixed(grade));
+    }
+
+    public void addFixed(int fixed) {
+        checkRange(fixed);
+        if (size == column.capacity()) column.ensureCapacity(size + 1);
+        column.set(size++, fixed);
+        stats.add(fixed);
+        if (distribution != null) distribution.add(fixed);
+        for (Listener l : listeners) l.added(size - 1, fixed);
+    }
+
+    public void set(int index, double grade) {
+        setFixed(index, toFixed(grade));
+    }
+
+    public void setFixed(int index, int fixed) {
+        checkIndex(index);
+        checkRange(fixed);
+        int old = column.get(index);
+        stats.replace(old, fixed);
+        if (distribution != null) distribution.replace(old, fixed);
+        column.set(index, fixed);
+        for (Listener l : listeners) l.changed(index, old, fixed);
+    }
+
+    public double remove(int index) {
+        checkIndex(index);
+        int old = column.get(index);
+        column.moveDown(index + 1, index, size - index - 1);
+        size--;
+        stats.remove(old);
+        if (distribution != null) distribution.remove(old);
+        for (Listener l : listeners) l.removed(index, old);
+        return toDouble(old);
+    }
+
+    /**
+     * Removes every listed row in one pass over the column, so removing k of
+     * n rows costs O(n + k log k) rather than k array shifts. Indexes refer
+     * to the rows before the call; duplicates are ignored.
+     *
+     * @return the number of rows removed
+     */
+    public int removeAll(int... indexes) {
+        int[] sorted = indexes.clone();
+        Arrays.sort(sorted);
+        int k = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (k == 0 || sorted[i] != sorted[k - 1]) sorted[k++] = sorted[i];
+        }
+        if (k == 0) return 0;
+        checkIndex(sorted[0]);
+        checkIndex(sorted[k - 1]);
+
+        int[] old = new int[k];
+        int write = sorted[0];
+        for (int i = 0; i < k; i++) {
+            int index = sorted[i];
+            old[i] = column.get(index);
+            int next = i + 1 < k ? sorted[i + 1] : size;
+            int run = next - index - 1;               // kept rows up to the next removal
+            column.moveDown(index + 1, write, run);
+            write += run;
+        }
+        size -= k;
+        for (int i = 0; i < k; i++) {
+            stats.remove(old[i]);
+            if (distribution != null) distribution.remove(old[i]);
+        }
+        for (Listener l : listeners) l.removedAll(sorted, old, k);
+        return k;
+    }
+
+    public void clear() {
+        for (Listener l : listeners) l.cleared();
+        size = 0;
+        stats.clear();
+        if (distribution != null) distribution.clear();
+    }
+
+    // ---------- Bulk access (snapshots) ----------
+
+    /** Backing column; only the first {@link #size()} entries are live. */
+    GradeColumn column() { return column; }
+
+    /**
+     * Replaces the contents with the first {@code count} values of
+     * {@code values}, a column of the same kind from {@link GradeColumn#emptyLike}
+     * that the store takes ownership of, and rebuilds the statistics with
+     * {@link GradeKernels}. Not reported to listeners.
+     */
+    void load(GradeColumn values, int count) {
+        load(values, count, GradeKernels.summarize(values, 0, count));
+    }
+
+    /** As {@link #load(GradeColumn, int)}, with the caller's summary of the same values. */
+    void load(GradeColumn values, int count, GradeKernels.Summary summary) {
+        if (!summary.inRange) {
+            for (int i = 0; i < count; i++) checkRange(values.get(i)); // throws for the first bad value
+        }
+        if (values != column) column.release();
+        column = values;
+        size = count;
+        stats.reset(count, summary.sum, summary.sumSquares);
+        if (distribution != null) distribution.rebuild(GradeKernels.bucketCounts(column, 0, size), size);
+    }
+
+    // ---------- Internals ----------
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+
+    private static void checkRange(int fixed) {
+        if (fixed < 0 || fixed > MAX_FIXED)
+            throw new IllegalArgumentException("Grade must be between 0 and 100: " + toDouble(fixed));
+    }
+}
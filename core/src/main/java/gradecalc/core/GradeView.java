@@ -0,0 +1,331 @@
+package gradecalc.core;
+
+import java.util.Arrays;
+
+/**
+ * Sorted and range-filtered view of a {@link GradeStore}, for tables.
+ *
+ * The view is a primitive {@code int[]} of store indexes ordered by (score,
+ * index), or by index alone in insertion order, holding only rows whose
+ * score is in the current range. Changing the order or range rebuilds it
+ * with a counting sort in O(n + U) over the 0–100 fixed-point domain; after
+ * that every store mutation is applied in place. A score's run starts at
+ * the number of visible scores below it (a {@link GradeDistribution} over
+ * the visible rows), and rows within the run are found by binary search,
+ * so an edit costs O(log n) to locate plus one array shift. With insertion
+ * order and no range the view is the identity and keeps no index at all.
+ */
+public final class GradeView implements GradeStore.Listener {
+
+    public enum Order { INSERTION, ASCENDING, DESCENDING }
+
+    /** Receives changes in view coordinates. */
+    public interface Listener {
+        void rowsInserted(int first, int last);
+        void rowsDeleted(int first, int last);
+        void rowsUpdated(int first, int last);
+        /** Anything may have changed, e.g. after a new order, range or store. */
+        void viewReset();
+    }
+
+    private GradeStore store;
+    private Listener listener;
+
+    private Order order = Order.INSERTION;
+    private int lo = 0, hi = GradeStore.MAX_FIXED;
+
+    private int[] rows = new int[0];                              // unused while identity
+    private int size;
+    private final GradeDistribution visible = new GradeDistribution(); // sorted orders only
+
+    // Batching: events are held back and summarised when the batch ends. A
+    // sorted or filtered index is not maintained during a batch at all; one
+    // O(n + U) rebuild at the end beats an array shift per grade.
+    private int batchDepth;
+    private boolean batchReset;
+    private boolean stale;
+    private int batchFirst = -1, batchLast = -1;
+
+    public GradeView(GradeStore store) {
+        this.store = store;
+        store.addListener(this);
+    }
+
+    public void setListener(Listener listener) { this.listener = listener; }
+
+    /** Views a different store with the same order and range. */
+    public void setStore(GradeStore next) {
+        store.removeListener(this);
+        store = next;
+        next.addListener(this);
+        rebuild();
+    }
+
+    public GradeStore store() { return store; }
+
+    // ---------- Configuration ----------
+
+    public Order order() { return order; }
+
+    public void setOrder(Order order) {
+        if (order == this.order) return;
+        this.order = order;
+        rebuild();
+    }
+
+    /** Shows only rows scoring in the inclusive fixed-point range [lo, hi]. */
+    public void setRange(int loFixed, int hiFixed) {
+        lo = Math.max(0, loFixed);
+        hi = Math.min(GradeStore.MAX_FIXED, hiFixed);
+        rebuild();
+    }
+
+    public void clearRange() { setRange(0, GradeStore.MAX_FIXED); }
+
+    public boolean isFiltered() { return lo > 0 || hi < GradeStore.MAX_FIXED; }
+
+    public int rangeLow() { return lo; }
+
+    public int rangeHigh() { return hi; }
+
+    private boolean identity() { return order == Order.INSERTION && !isFiltered(); }
+
+    // ---------- Reads ----------
+
+    public int size() {
+        if (stale) rebuild(); // read during a batch
+        return identity() ? store.size() : size;
+    }
+
+    /** Store index shown at {@code viewRow}. */
+    public int storeIndex(int viewRow) {
+        if (identity()) return viewRow;
+        if (stale) rebuild();
+        if (viewRow < 0 || viewRow >= size)
+            throw new IndexOutOfBoundsException("Index " + viewRow + " out of bounds for size " + size);
+        return rows[order == Order.DESCENDING ? size - 1 - viewRow : viewRow];
+    }
+
+    /** View row showing {@code storeIndex}, or -1 if it is filtered out. */
+    public int viewRow(int storeIndex) {
+        if (identity()) return storeIndex;
+        int fixed = store.getFixed(storeIndex);
+        if (!inRange(fixed)) return -1;
+        if (stale) rebuild();
+        int p = find(storeIndex, fixed);
+        return p < 0 ? -1 : toView(p, size);
+    }
+
+    // ---------- Batching ----------
+
+    /** Holds back events until the matching {@link #endBatch()}, then reports them at once. */
+    public void beginBatch() { batchDepth++; }
+
+    public void endBatch() {
+        if (--batchDepth > 0) return;
+        if (stale) {
+            batchReset = false;
+            batchFirst = batchLast = -1;
+            rebuild();
+            return;
+        }
+        if (listener == null) return;
+        if (batchReset) listener.viewReset();
+        else if (batchFirst >= 0) listener.rowsInserted(batchFirst, batchLast);
+        batchReset = false;
+        batchFirst = batchLast = -1;
+    }
+
+    // ---------- Store events ----------
+
+    @Override public void added(int index, int fixed) {
+        if (identity()) { inserted(index); return; }
+        if (deferred()) return;
+        if (!inRange(fixed)) return;
+        int p = order == Order.INSERTION ? size : visible.countAtMost(fixed); // index is the largest so far
+        insertAt(p, index);
+        if (order != Order.INSERTION) visible.add(fixed);
+        inserted(toView(p, size));
+    }
+
+    @Override public void changed(int index, int oldFixed, int newFixed) {
+        if (identity()) { updated(index); return; }
+        if (deferred()) return;
+        boolean was = inRange(oldFixed), is = inRange(newFixed);
+        int from = -1, to = -1;
+        if (was) {
+            int p = find(index, oldFixed);
+            from = toView(p, size);
+            deleteAt(p);
+            if (order != Order.INSERTION) visible.remove(oldFixed);
+        }
+        if (is) {
+            int q = -find(index, newFixed) - 1;
+            insertAt(q, index);
+            if (order != Order.INSERTION) visible.add(newFixed);
+            to = toView(q, size);
+        }
+        if (from >= 0 && from == to) {
+            updated(to);
+        } else {
+            if (from >= 0) deleted(from);
+            if (to >= 0) inserted(to);
+        }
+    }
+
+    @Override public void removed(int index, int oldFixed) {
+        if (identity()) { deleted(index); return; }
+        if (deferred()) return;
+        int from = -1;
+        if (inRange(oldFixed)) {
+            int p = find(index, oldFixed);
+            from = toView(p, size);
+            deleteAt(p);
+            if (order != Order.INSERTION) visible.remove(oldFixed);
+        }
+        // Later rows moved down one in the store; order within every run is unchanged
+        int[] r = rows;
+        for (int i = 0; i < size; i++) r[i] -= r[i] > index ? 1 : 0;
+        if (from >= 0) deleted(from);
+    }
+
+    /** One remapping pass over the index instead of a shift and decrement pass per removed row. */
+    @Override public void removedAll(int[] indexes, int[] oldFixed, int count) {
+        if (identity()) { reset(); return; }
+        if (deferred()) return;
+        if (order != Order.INSERTION) {
+            for (int i = 0; i < count; i++) {
+                if (inRange(oldFixed[i])) visible.remove(oldFixed[i]);
+            }
+        }
+        // Old store index -> new one, or -1 if removed; one sequential pass, then one load per row
+        int[] moved = new int[store.size() + count];
+        for (int i = 0, gone = 0; i < moved.length; i++) {
+            if (gone < count && indexes[gone] == i) { moved[i] = -1; gone++; }
+            else moved[i] = i - gone;
+        }
+        int[] r = rows;
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            int index = moved[r[i]];
+            r[k] = index;
+            k += index >= 0 ? 1 : 0;
+        }
+        size = k;
+        reset();
+    }
+
+    @Override public void cleared() {
+        size = 0;
+        visible.clear();
+        reset();
+    }
+
+    // ---------- Index maintenance ----------
+
+    /** True if inside a batch, where the index is rebuilt when the batch ends instead. */
+    private boolean deferred() {
+        if (batchDepth == 0) return false;
+        stale = true;
+        return true;
+    }
+
+    private boolean inRange(int fixed) { return fixed >= lo && fixed <= hi; }
+
+    private int toView(int p, int n) { return order == Order.DESCENDING ? n - 1 - p : p; }
+
+    /** Position of {@code index} in {@code rows}, or -(insertion point) - 1, searching only its score's run. */
+    private int find(int index, int fixed) {
+        if (order == Order.INSERTION) return Arrays.binarySearch(rows, 0, size, index);
+        return Arrays.binarySearch(rows, visible.countBelow(fixed), visible.countAtMost(fixed), index);
+    }
+
+    private void insertAt(int p, int index) {
+        if (size == rows.length) rows = Arrays.copyOf(rows, Math.max(16, size + (size >> 1)));
+        System.arraycopy(rows, p, rows, p + 1, size - p);
+        rows[p] = index;
+        size++;
+    }
+
+    private void deleteAt(int p) {
+        System.arraycopy(rows, p + 1, rows, p, size - p - 1);
+        size--;
+    }
+
+    /** Counting sort of the visible rows by (score, index), or a filtered scan for insertion order. */
+    private void rebuild() {
+        stale = false;
+        visible.clear();
+        if (identity()) {
+            rows = new int[0];
+            size = 0;
+            reset();
+            return;
+        }
+        GradeColumn column = store.column();
+        int n = store.size();
+        if (order == Order.INSERTION) {
+            int[] r = new int[Math.max(16, n)];
+            int[] k = {0};
+            column.forEachChunk(0, n, (values, offset, length, first) -> {
+                int kept = k[0];
+                for (int j = 0; j < length; j++) {
+                    r[kept] = first + j;
+                    kept += inRange(values[offset + j]) ? 1 : 0;
+                }
+                k[0] = kept;
+            });
+            rows = r;
+            size = k[0];
+        } else {
+            int[] counts = GradeKernels.bucketCounts(column, 0, n);
+            Arrays.fill(counts, 0, lo, 0);
+            Arrays.fill(counts, hi + 1, counts.length, 0);
+            int total = 0;
+            int[] starts = new int[counts.length];
+            for (int v = lo; v <= hi; v++) {
+                starts[v] = total;
+                total += counts[v];
+            }
+            visible.rebuild(counts, total);
+            int[] r = new int[Math.max(16, total)];
+            column.forEachChunk(0, n, (values, offset, length, first) -> {
+                for (int j = 0; j < length; j++) {
+                    int v = values[offset + j];
+                    if (v >= lo && v <= hi) r[starts[v]++] = first + j;
+                }
+            });
+            rows = r;
+            size = total;
+        }
+        reset();
+    }
+
+    // ---------- Events ----------
+
+    private void inserted(int viewRow) {
+        if (batchDepth > 0) {
+            if (batchReset) return;
+            if (batchFirst < 0 && viewRow == size() - 1) { batchFirst = batchLast = viewRow; return; }
+            if (batchFirst >= 0 && viewRow == batchLast + 1 && viewRow == size() - 1) { batchLast = viewRow; return; }
+            batchReset = true;
+            return;
+        }
+        if (listener != null) listener.rowsInserted(viewRow, viewRow);
+    }
+
+    private void deleted(int viewRow) {
+        if (batchDepth > 0) { batchReset = true; return; }
+        if (listener != null) listener.rowsDeleted(viewRow, viewRow);
+    }
+
+    private void updated(int viewRow) {
+        if (batchDepth > 0) { batchReset = true; return; }
+        if (listener != null) listener.rowsUpdated(viewRow, viewRow);
+    }
+
+    private void reset() {
+        if (batchDepth > 0) { batchReset = true; return; }
+        if (listener != null) listener.viewReset();
+    }
+}
@@ -0,0 +1,272 @@
+package gradecalc.core;
+
+import java.util.Arrays;
+
+/**
+ * Grades for many students across many courses.
+ *
+ * Each course keeps a column of per-student {@link GradeStore}s indexed by a
+ * dense student number, so every (student, course) pair is a primitive
+ * fixed-point column of its own. Student IDs and course names resolve to
+ * those dense numbers through open-addressing hash indexes, and per-student
+ * and per-course totals are updated from each store's listener as grades
+ * change. Lookups and aggregate queries are a hash probe plus array reads.
+ */
+public final class Gradebook {
+
+    public static final String DEFAULT_STUDENT = "me";
+    public static final String DEFAULT_COURSE = "General";
+
+    private GradingScale scale = GradingScale.PLUS_MINUS;
+
+    private final NameIndex students = new NameIndex();
+    private final NameIndex courses = new NameIndex();
+
+    // [course][student] -> that student's grades in that course (null until first use)
+    private GradeStore[][] entries = new GradeStore[0][];
+
+    // Per-student totals across all courses
+    private int[] studentCount = new int[16];
+    private long[] studentSum = new long[16];
+
+    // Per-course totals across all students
+    private int[] courseCount = new int[0];
+    private long[] courseSum = new long[0];
+    private GradeDistribution[] courseDistribution = new GradeDistribution[0];
+
+    // ---------- Registry ----------
+
+    /** Scale for letters and GPAs; +/- by default. */
+    public GradingScale scale() { return scale; }
+
+    public void setScale(GradingScale scale) { this.scale = scale; }
+
+    public int studentCount() { return students.size(); }
+
+    public int courseCount() { return courses.size(); }
+
+    public String studentId(int student) { return students.name(student); }
+
+    public String courseName(int course) { return courses.name(course); }
+
+    /** Dense number for {@code id}, or -1 if unknown. */
+    public int studentIndex(String id) { return students.find(id); }
+
+    public int courseIndex(String name) { return courses.find(name); }
+
+    public int addStudent(String id) {
+        int s = students.intern(id);
+        if (s >= studentCount.length) {
+            int cap = Math.max(s + 1, studentCount.length * 2);
+            studentCount = Arrays.copyOf(studentCount, cap);
+            studentSum = Arrays.copyOf(studentSum, cap);
+        }
+        return s;
+    }
+
+    public int addCourse(String name) {
+        int c = courses.intern(name);
+        if (c >= entries.length) {
+            entries = Arrays.copyOf(entries, c + 1);
+            entries[c] = new GradeStore[studentCount.length];
+            courseCount = Arrays.copyOf(courseCount, c + 1);
+            courseSum = Arrays.copyOf(courseSum, c + 1);
+            courseDistribution = Arrays.copyOf(courseDistribution, c + 1);
+            courseDistribution[c] = new GradeDistribution();
+        }
+        return c;
+    }
+
+    // ---------- Entries ----------
+
+    /** The student's grades in the course, registering either as needed. */
+    public GradeStore grades(String studentId, String course) {
+        int s = addStudent(studentId), c = addCourse(course);
+        GradeStore store = entry(c, s);
+        if (store == null) {
+            store = new GradeStore(4);
+            attach(c, s, store);
+        }
+        return store;
+    }
+
+    /** Existing grades for the pair, or null. */
+    public GradeStore find(String studentId, String course) {
+        int s = students.find(studentId), c = courses.find(course);
+        return s < 0 || c < 0 ? null : entry(c, s);
+    }
+
+    /**
+     * Registers an existing store (e.g. one restored from disk) as the
+     * student's grades in the course. Its current contents are counted
+     * toward the totals. Fails if the pair already has grades.
+     */
+    public void attach(String studentId, String course, GradeStore store) {
+        int s = addStudent(studentId), c = addCourse(course);
+        if (entry(c, s) != null) throw new IllegalStateException(studentId + " already has grades in " + course);
+        attach(c, s, store);
+    }
+
+    private GradeStore entry(int course, int student) {
+        GradeStore[] column = entries[course];
+        return student < column.length ? column[student] : null;
+    }
+
+    private void attach(int course, int student, GradeStore store) {
+        GradeStore[] column = entries[course];
+        if (student >= column.length) {
+            column = entries[course] = Arrays.copyOf(column, Math.max(student + 1, column.length * 2));
+        }
+        column[student] = store;
+        for (int i = 0; i < store.size(); i++) counted(course, student, store.getFixed(i), 1);
+        store.addListener(new Totals(course, student, store));
+    }
+
+    // ---------- Queries ----------
+
+    public int gradeCount(String studentId) {
+        int s = students.find(studentId);
+        return s < 0 ? 0 : studentCount[s];
+    }
+
+    /** Mean of all of the student's grades across courses; 0 if none. */
+    public double studentAverage(String studentId) {
+        int s = students.find(studentId);
+        return s < 0 || studentCount[s] == 0 ? 0 : studentSum[s] / (double) ((long) studentCount[s] * GradeStore.SCALE);
+    }
+
+    /** Mean of the student's per-course GPAs, over courses with grades. */
+    public double studentGpa(String studentId) {
+        int s = students.find(studentId);
+        if (s < 0) return 0;
+        double total = 0;
+        int graded = 0;
+        for (int c = 0; c < entries.length; c++) {
+            GradeStore store = entry(c, s);
+            if (store != null && !store.isEmpty()) {
+                total += scale.gpaOf(store.mean());
+                graded++;
+            }
+        }
+        return graded == 0 ? 0 : total / graded;
+    }
+
+    public String studentLetter(String studentId) {
+        return scale.letterOf(studentAverage(studentId));
+    }
+
+    public int courseGradeCount(String course) {
+        int c = courses.find(course);
+        return c < 0 ? 0 : courseCount[c];
+    }
+
+    public double courseAverage(String course) {
+        int c = courses.find(course);
+        return c < 0 || courseCount[c] == 0 ? 0 : courseSum[c] / (double) ((long) courseCount[c] * GradeStore.SCALE);
+    }
+
+    public String courseLetter(String course) {
+        return scale.letterOf(courseAverage(course));
+    }
+
+    /** Order statistics over every grade in the course, or null for an unknown course. */
+    public GradeDistribution courseDistribution(String course) {
+        int c = courses.find(course);
+        return c < 0 ? null : courseDistribution[c];
+    }
+
+    // ---------- Totals ----------
+
+    private void counted(int course, int student, int fixed, int sign) {
+        studentCount[student] += sign;
+        studentSum[student] += sign * fixed;
+        courseCount[course] += sign;
+        courseSum[course] += sign * fixed;
+        if (sign > 0) courseDistribution[course].add(fixed);
+        else courseDistribution[course].remove(fixed);
+    }
+
+    /** Keeps the student and course totals in step with one entry. */
+    private final class Totals implements GradeStore.Listener {
+        private final int course, student;
+        private final GradeStore store;
+
+        Totals(int course, int student, GradeStore store) {
+            this.course = course;
+            this.student = student;
+            this.store = store;
+        }
+
+        @Override public void added(int index, int fixed) { counted(course, student, fixed, 1); }
+
+        @Override public void changed(int index, int oldFixed, int newFixed) {
+            counted(course, student, oldFixed, -1);
+            counted(course, student, newFixed, 1);
+        }
+
+        @Override public void removed(int index, int oldFixed) { counted(course, student, oldFixed, -1); }
+
+        @Override public void cleared() {
+            for (int i = 0; i < store.size(); i++) counted(course, student, store.getFixed(i), -1);
+        }
+    }
+
+    // ---------- Hash index ----------
+
+    /** Open-addressing (linear probing) map from name to dense number. */
+    private static final class NameIndex {
+        private String[] keys = new String[16];
+        private int[] values = new int[16];
+        private String[] names = new String[8];
+        private int size;
+
+        int size() { return size; }
+
+        String name(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            return names[index];
+        }
+
+        int find(String key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+                String k = keys[i];
+                if (k == null) return -1;
+                if (k.equals(key)) return values[i];
+            }
+        }
+
+        int intern(String key) {
+            int found = find(key);
+            if (found >= 0) return found;
+            if ((size + 1) * 2 > keys.length) rehash(keys.length * 2);
+            insert(key, size);
+            if (size == names.length) names = Arrays.copyOf(names, size * 2);
+            names[size] = key;
+            return size++;
+        }
+
+        private void insert(String key, int value) {
+            int mask = keys.length - 1;
+            int i = mix(key.hashCode()) & mask;
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void rehash(int capacity) {
+            String[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new String[capacity];
+            values = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
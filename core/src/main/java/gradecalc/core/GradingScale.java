@@ -0,0 +1,190 @@
+package gradecalc.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Letter-grade and GPA rules shared by both calculators and the gradebook.
+ *
+ * A scale is a list of bands (letter, lowest average, GPA points), read from
+ * a small text file with one band per line, highest first:
+ *
+ * <pre>
+ * # letter  lowest average  GPA points
+ * A   90  4.0
+ * B   80  3.0
+ * F    0  0.0
+ * </pre>
+ *
+ * The bands are compiled into a table with one entry per fixed-point score,
+ * so classifying a score is a single array load, and bulk classification is
+ * a branch-free loop. Averages are classified at hundredth resolution,
+ * truncated, so 89.999 is still below a cutoff of 90.
+ */
+public final class GradingScale {
+
+    /** Plain A–F, as used by the console calculator. */
+    public static final GradingScale BASIC = builtin("basic");
+
+    /** Thirteen-step +/-, as used by the Swing calculator. */
+    public static final GradingScale PLUS_MINUS = builtin("plus-minus");
+
+    private final String name;
+    private final String[] letters;   // per band, highest first
+    private final int[] lows;         // per band, lowest fixed-point score
+    private final int[] points;       // per band, GPA points in hundredths
+    private final byte[] bandOf;      // per fixed-point score
+    private final short[] pointsOf;   // per fixed-point score, hundredths
+
+    private GradingScale(String name, List<String> letters, List<Integer> lows, List<Integer> points) {
+        this.name = name;
+        this.letters = letters.toArray(new String[0]);
+        this.lows = lows.stream().mapToInt(Integer::intValue).toArray();
+        this.points = points.stream().mapToInt(Integer::intValue).toArray();
+
+        bandOf = new byte[GradeStore.MAX_FIXED + 1];
+        pointsOf = new short[GradeStore.MAX_FIXED + 1];
+        int high = GradeStore.MAX_FIXED;
+        for (int b = 0; b < this.lows.length; b++) {
+            for (int fixed = this.lows[b]; fixed <= high; fixed++) {
+                bandOf[fixed] = (byte) b;
+                pointsOf[fixed] = (short) this.points[b];
+            }
+            high = this.lows[b] - 1;
+        }
+    }
+
+    // ---------- Loading ----------
+
+    /**
+     * The scale named by the {@code grades.scale} system property, either a
+     * built-in ({@code basic}, {@code plus-minus}) or a path to a scale file,
+     * or {@code fallback} if the property is unset.
+     */
+    public static GradingScale configured(GradingScale fallback) throws IOException {
+        String setting = System.getProperty("grades.scale");
+        if (setting == null || setting.isBlank()) return fallback;
+        setting = setting.trim();
+        if (setting.equalsIgnoreCase(BASIC.name)) return BASIC;
+        if (setting.equalsIgnoreCase(PLUS_MINUS.name)) return PLUS_MINUS;
+        return load(Path.of(setting));
+    }
+
+    public static GradingScale load(Path file) throws IOException {
+        String name = file.getFileName().toString().replaceFirst("\\.scale$", "");
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(name, in);
+        }
+    }
+
+    /** Reads bands from {@code in}; fails on a malformed line or if the cutoffs do not descend to 0. */
+    public static GradingScale parse(String name, Reader in) throws IOException {
+        List<String> letters = new ArrayList<>();
+        List<Integer> lows = new ArrayList<>(), points = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(in);
+        int lineNo = 0;
+        for (String line; (line = lines.readLine()) != null; ) {
+            lineNo++;
+            int hash = line.indexOf('#');
+            String[] fields = (hash >= 0 ? line.substring(0, hash) : line).trim().split("\\s+");
+            if (fields.length == 1 && fields[0].isEmpty()) continue;
+            if (fields.length != 3) throw bad(name, lineNo, "expected: letter, lowest average, GPA points");
+            int low, pts;
+            try {
+                low = GradeStore.toFixed(Double.parseDouble(fields[1]));
+                pts = (int) Math.round(Double.parseDouble(fields[2]) * 100);
+            } catch (NumberFormatException e) {
+                throw bad(name, lineNo, e.getMessage());
+            }
+            if (low < 0 || low > GradeStore.MAX_FIXED) throw bad(name, lineNo, "cutoff must be between 0 and 100");
+            if (!lows.isEmpty() && low >= lows.get(lows.size() - 1)) throw bad(name, lineNo, "cutoffs must be listed highest first");
+            if (pts < 0 || pts > Short.MAX_VALUE) throw bad(name, lineNo, "GPA points out of range");
+            letters.add(fields[0]);
+            lows.add(low);
+            points.add(pts);
+        }
+        if (lows.isEmpty() || lows.get(lows.size() - 1) != 0) throw new IOException("Grading scale " + name + " must end with a band starting at 0");
+        if (lows.size() > Byte.MAX_VALUE) throw new IOException("Grading scale " + name + " has too many bands");
+        return new GradingScale(name, letters, lows, points);
+    }
+
+    private static IOException bad(String name, int lineNo, String why) {
+        return new IOException("Bad grading scale " + name + " line " + lineNo + ": " + why);
+    }
+
+    private static GradingScale builtin(String name) {
+        try (InputStream in = GradingScale.class.getResourceAsStream(name + ".scale")) {
+            if (in == null) throw new IllegalStateException("Missing built-in grading scale: " + name);
+            return parse(name, new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- Bands ----------
+
+    public String name() { return name; }
+
+    public int bandCount() { return letters.length; }
+
+    public String bandLetter(int band) { return letters[band]; }
+
+    /** Lowest fixed-point score in the band. */
+    public int bandLow(int band) { return lows[band]; }
+
+    /** Highest fixed-point score in the band. */
+    public int bandHigh(int band) { return band == 0 ? GradeStore.MAX_FIXED : lows[band - 1] - 1; }
+
+    public double bandPoints(int band) { return points[band] / 100.0; }
+
+    // ---------- Single scores ----------
+
+    /** Band of a fixed-point score, 0 being the highest. */
+    public int band(int fixed) { return bandOf[fixed]; }
+
+    public String letter(int fixed) { return letters[bandOf[fixed]]; }
+
+    public double points(int fixed) { return pointsOf[fixed] / 100.0; }
+
+    public String letterOf(double average) { return letters[bandOf[index(average)]]; }
+
+    public double gpaOf(double average) { return pointsOf[index(average)] / 100.0; }
+
+    private static int index(double average) {
+        int fixed = (int) (average * GradeStore.SCALE); // truncates; NaN becomes 0
+        return Math.max(0, Math.min(fixed, GradeStore.MAX_FIXED));
+    }
+
+    // ---------- Bulk ----------
+
+    /** Writes the band of each score in {@code scores[from, to)} to {@code bands}, starting at {@code offset}. */
+    public void classify(short[] scores, int from, int to, byte[] bands, int offset) {
+        for (int i = from; i < to; i++) bands[offset + i - from] = bandOf[scores[i]];
+    }
+
+    /** Number of scores in each band, highest band first. */
+    public int[] bandCounts(short[] scores, int from, int to) {
+        int[] buckets = GradeKernels.bucketCounts(scores, from, to);
+        int[] counts = new int[letters.length];
+        for (int fixed = 0; fixed < buckets.length; fixed++) counts[bandOf[fixed]] += buckets[fixed];
+        return counts;
+    }
+
+    /** Mean GPA points over the scores, summed exactly in hundredths; 0 if none. */
+    public double meanPoints(short[] scores, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) sum += pointsOf[scores[i]];
+        return to <= from ? 0 : sum / (100.0 * (to - from));
+    }
+
+    @Override public String toString() { return name; }
+}
@@ -0,0 +1,89 @@
+package gradecalc.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of durations in nanoseconds.
+ *
+ * Each power of two is split into eight sub-buckets, so any recorded value
+ * is reported within 12.5% of its true value, from nanoseconds up to hours,
+ * in a fixed 4 KB of counters. Safe to record from many threads at once.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucket(nanos));
+        total.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public long count() { return total.sum(); }
+
+    public long maxNanos() { return max.get(); }
+
+    public double meanNanos() {
+        long n = total.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n;
+    }
+
+    /** Upper bound of the bucket holding the {@code p}th percentile (0–100); 0 if empty. */
+    public long percentileNanos(double p) {
+        long[] snapshot = bucketCounts();
+        long n = 0;
+        for (long c : snapshot) n += c;
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /** Per-bucket counts; bucket {@code i} covers [{@link #lowerBound}(i), {@link #upperBound}(i)]. */
+    public long[] bucketCounts() {
+        long[] out = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) out[i] = counts.get(i);
+        return out;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    // ---------- Bucket math ----------
+
+    static int bucket(long nanos) {
+        if (nanos < SUB) return (int) nanos;
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    public static long lowerBound(int bucket) {
+        if (bucket < SUB) return bucket;
+        int exp = bucket / SUB + SUB_BITS - 1;
+        return (long) (SUB + bucket % SUB) << (exp - SUB_BITS);
+    }
+
+    public static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+}
@@ -0,0 +1,127 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGradeStoreTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 50_000;
+
+    /** Producer p appends p * 100 + (i % 100), so each value names its producer and a value's order can be checked. */
+    private static Thread[] start(ConcurrentGradeStore store, CountDownLatch go) {
+        Thread[] threads = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int base = p * 100;
+            threads[p] = new Thread(() -> {
+                ConcurrentGradeStore.Appender a = store.appender();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < PER_PRODUCER; i++) a.addFixed(base + i % 100);
+            });
+            threads[p].start();
+        }
+        return threads;
+    }
+
+    @Test
+    void snapshotsAreConsistentWhileProducersRun() throws InterruptedException {
+        ConcurrentGradeStore store = new ConcurrentGradeStore();
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = start(store, go);
+        go.countDown();
+
+        int last = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread t : threads) running |= t.isAlive();
+            ConcurrentGradeStore.Snapshot snap = store.snapshot();
+            assertTrue(snap.size() >= last);
+            last = snap.size();
+            long sum = 0;
+            for (int i = 0; i < snap.size(); i++) sum += snap.getFixed(i);
+            assertEquals(sum, snap.sumFixed());
+        }
+        for (Thread t : threads) t.join();
+
+        ConcurrentGradeStore.Snapshot done = store.snapshot();
+        assertEquals(PRODUCERS * PER_PRODUCER, done.size());
+        assertSame(done, store.lastSnapshot());
+        int[] next = new int[PRODUCERS];
+        for (int i = 0; i < done.size(); i++) {
+            int v = done.getFixed(i), p = v / 100;
+            assertEquals(next[p]++ % 100, v % 100, "producer " + p + " out of order");
+        }
+    }
+
+    @Test
+    void drainToHandsEveryValueOverOnce() throws InterruptedException {
+        ConcurrentGradeStore store = new ConcurrentGradeStore();
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = start(store, go);
+        List<Integer> received = new ArrayList<>();
+        ConcurrentGradeStore.Sink sink = (values, from, to) -> {
+            for (int i = from; i < to; i++) received.add((int) values[i]);
+        };
+        go.countDown();
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread t : threads) running |= t.isAlive();
+            store.drainTo(sink);
+        }
+        for (Thread t : threads) t.join();
+        store.drainTo(sink);
+
+        assertEquals(PRODUCERS * PER_PRODUCER, received.size());
+        int[] next = new int[PRODUCERS];
+        for (int v : received) {
+            int p = v / 100;
+            assertEquals(next[p]++ % 100, v % 100);
+        }
+        assertTrue(store.snapshot().isEmpty());                      // drained values are not kept
+    }
+
+    @Test
+    void snapshotStatisticsAndCopies() {
+        ConcurrentGradeStore store = new ConcurrentGradeStore();
+        for (double g : new double[]{60, 70, 80, 90}) store.add(g);
+        ConcurrentGradeStore.Snapshot snap = store.snapshot();
+        assertEquals(75.0, snap.mean(), 1e-9);
+        assertEquals(125.0, snap.variance(), 1e-9);
+        short[] out = new short[2];
+        snap.copyTo(1, 3, out, 0);
+        assertArrayEquals(new short[]{7000, 8000}, out);
+
+        store.add(100);
+        assertEquals(4, snap.size());                                // earlier snapshots never change
+        assertEquals(5, store.snapshot().size());
+        assertThrows(IllegalArgumentException.class, () -> store.addFixed(GradeStore.MAX_FIXED + 1));
+    }
+
+    @Test
+    void appenderBelongsToItsThread() throws InterruptedException {
+        ConcurrentGradeStore store = new ConcurrentGradeStore();
+        ConcurrentGradeStore.Appender mine = store.appender();
+        Throwable[] thrown = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                mine.addFixed(1);
+            } catch (Throwable t) {
+                thrown[0] = t;
+            }
+        });
+        other.start();
+        other.join();
+        assertInstanceOf(IllegalStateException.class, thrown[0]);
+    }
+}
@@ -0,0 +1,95 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeCategoriesTest {
+
+    private static CategoryScheme scheme(String text) throws IOException {
+        return CategoryScheme.parse("test", new StringReader(text));
+    }
+
+    /** Category mean after dropping the lowest grades, straight from the definition. */
+    private static double bruteMean(GradeStore grades, GradeCategories categories, int category, int drop) {
+        List<Integer> in = new ArrayList<>();
+        for (int i = 0; i < grades.size(); i++) if (categories.category(i) == category) in.add(grades.getFixed(i));
+        if (in.isEmpty()) return 0;
+        int[] v = in.stream().mapToInt(Integer::intValue).sorted().toArray();
+        int d = Math.min(drop, v.length - 1);
+        long sum = Arrays.stream(v, d, v.length).sum();
+        return sum / (double) ((v.length - d) * GradeStore.SCALE);
+    }
+
+    @Test
+    void dropLowestMatchesBruteForce() throws IOException {
+        CategoryScheme scheme = scheme("Homework 25 2\nQuizzes 25 1\nExams 50 0\n");
+        GradeStore grades = new GradeStore();
+        GradeCategories categories = new GradeCategories(scheme, grades);
+        Random random = new Random(51);
+        for (int round = 0; round < 3000; round++) {
+            int op = random.nextInt(100);
+            if (op < 60 || grades.isEmpty()) {
+                categories.setCurrent(random.nextInt(3));
+                grades.addFixed(random.nextInt(21) * 500);               // plenty of ties
+            } else if (op < 75) {
+                grades.setFixed(random.nextInt(grades.size()), random.nextInt(GradeStore.MAX_FIXED + 1));
+            } else if (op < 85) {
+                categories.setCategory(random.nextInt(grades.size()), random.nextInt(3));
+            } else if (op < 97) {
+                grades.remove(random.nextInt(grades.size()));
+            } else {
+                grades.removeAll(random.ints(3, 0, grades.size()).toArray());
+            }
+
+            double total = 0, weights = 0;
+            for (int c = 0; c < 3; c++) {
+                double expected = bruteMean(grades, categories, c, scheme.dropLowest(c));
+                assertEquals(expected, categories.mean(c), 1e-9, "category " + c + " at round " + round);
+                if (categories.count(c) > 0) {
+                    total += scheme.weight(c) * expected;
+                    weights += scheme.weight(c);
+                }
+            }
+            assertEquals(weights == 0 ? 0 : total / weights, categories.weightedMean(), 1e-9);
+            assertEquals(grades.size(), categories.tags().size());
+        }
+    }
+
+    @Test
+    void restoredTagsAreReconciledAndCounted() throws IOException {
+        CategoryScheme scheme = scheme("A 1\nB 1\n");
+        GradeStore grades = new GradeStore(), tags = new GradeStore();
+        for (int i = 0; i < 5; i++) grades.addFixed(5000 + i);
+        tags.addFixed(1);
+        tags.addFixed(1);
+        tags.addFixed(7);                                            // a category the scheme no longer has
+
+        GradeCategories categories = new GradeCategories(scheme, grades, tags);
+        assertEquals(3, categories.repairedTags());                  // two missing, one out of range
+        assertEquals(5, tags.size());
+        assertEquals(2, categories.count(1));
+        assertEquals(3, categories.count(0));
+
+        GradeStore extra = new GradeStore();
+        for (int i = 0; i < 7; i++) extra.addFixed(1);
+        assertEquals(2, new GradeCategories(scheme, grades, extra).repairedTags());
+        assertEquals(0, new GradeCategories(scheme, grades, extra).repairedTags());
+    }
+
+    @Test
+    void standardSchemeLoads() {
+        CategoryScheme s = CategoryScheme.STANDARD;
+        assertEquals(3, s.size());
+        assertEquals(1, s.dropLowest(s.indexOf("homework")));
+        assertThrows(IOException.class, () -> scheme("A 0\n"));
+        assertThrows(IOException.class, () -> scheme("A 1\na 2\n"));
+    }
+}
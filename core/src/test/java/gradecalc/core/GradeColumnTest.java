@@ -0,0 +1,110 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** A mapped store must behave exactly like a heap one. */
+class GradeColumnTest {
+
+    private static final int SEGMENT = 1 << 22;
+
+    @TempDir Path dir;
+
+    @Test
+    void mappedStoreMatchesHeapStoreUnderRandomMutations() throws IOException {
+        GradeStore heap = new GradeStore();
+        GradeStore mapped = GradeStore.offHeap(dir);
+        assertFalse(heap.isOffHeap());
+        assertTrue(mapped.isOffHeap());
+
+        Random random = new Random(21);
+        for (int round = 0; round < 20_000; round++) {
+            int op = random.nextInt(100);
+            if (op < 70 || heap.isEmpty()) {
+                int v = random.nextInt(GradeStore.MAX_FIXED + 1);
+                heap.addFixed(v);
+                mapped.addFixed(v);
+            } else if (op < 85) {
+                int i = random.nextInt(heap.size()), v = random.nextInt(GradeStore.MAX_FIXED + 1);
+                heap.setFixed(i, v);
+                mapped.setFixed(i, v);
+            } else if (op < 95) {
+                int i = random.nextInt(heap.size());
+                assertEquals(heap.remove(i), mapped.remove(i));
+            } else if (op < 99) {
+                int[] some = random.ints(1 + random.nextInt(20), 0, heap.size()).toArray();
+                assertEquals(heap.removeAll(some.clone()), mapped.removeAll(some.clone()));
+            } else {
+                heap.clear();
+                mapped.clear();
+            }
+        }
+        assertSameStore(heap, mapped);
+    }
+
+    @Test
+    void mappedStoreCrossesSegments() throws IOException {
+        GradeStore heap = new GradeStore();
+        GradeStore mapped = GradeStore.offHeap(dir);
+        int n = SEGMENT + 1000;
+        for (int i = 0; i < n; i++) {
+            int v = (int) ((long) i * 7919 % (GradeStore.MAX_FIXED + 1));
+            heap.addFixed(v);
+            mapped.addFixed(v);
+        }
+        heap.removeAll(0, SEGMENT - 1, SEGMENT, n - 1);
+        mapped.removeAll(0, SEGMENT - 1, SEGMENT, n - 1);
+        assertSameStore(heap, mapped);
+
+        GradeColumn copy = mapped.column().copy(mapped.size());
+        assertNull(copy.array());
+        for (int i = SEGMENT - 10; i < SEGMENT + 10; i++) assertEquals(heap.getFixed(i), copy.get(i));
+        copy.release();
+    }
+
+    @Test
+    void exportsAndSnapshotsAreByteForByteTheSame() throws IOException {
+        GradeStore heap = new GradeStore();
+        GradeStore mapped = GradeStore.offHeap(dir.resolve("scratch"));
+        Random random = new Random(22);
+        for (int i = 0; i < 100_000; i++) {
+            int v = random.nextInt(GradeStore.MAX_FIXED + 1);
+            heap.addFixed(v);
+            mapped.addFixed(v);
+        }
+        for (GradeSnapshot.Encoding encoding : GradeSnapshot.Encoding.values()) {
+            GradeSnapshot.write(heap, dir.resolve("heap.snapshot"), 1, encoding);
+            GradeSnapshot.write(mapped, dir.resolve("mapped.snapshot"), 1, encoding);
+            assertEquals(-1L, Files.mismatch(dir.resolve("heap.snapshot"), dir.resolve("mapped.snapshot")));
+        }
+        for (GradeExport.Format format : GradeExport.Format.values()) {
+            String ext = format == GradeExport.Format.CSV ? ".csv" : ".json";
+            try (GradeExport a = GradeExport.of(heap, GradingScale.BASIC); GradeExport b = GradeExport.of(mapped, GradingScale.BASIC)) {
+                a.write(dir.resolve("heap" + ext), format);
+                b.write(dir.resolve("mapped" + ext), format);
+            }
+            assertEquals(-1L, Files.mismatch(dir.resolve("heap" + ext), dir.resolve("mapped" + ext)));
+        }
+    }
+
+    private static void assertSameStore(GradeStore heap, GradeStore mapped) {
+        assertEquals(heap.size(), mapped.size());
+        for (int i = 0; i < heap.size(); i++) {
+            if (heap.getFixed(i) != mapped.getFixed(i)) fail("values differ at " + i);
+        }
+        assertEquals(heap.sumFixed(), mapped.sumFixed());
+        assertEquals(heap.stats().variance(), mapped.stats().variance(), 1e-9);
+        if (!heap.isEmpty()) {
+            assertEquals(heap.stats().min(), mapped.stats().min());
+            assertEquals(heap.stats().max(), mapped.stats().max());
+            assertEquals(heap.distribution().median(), mapped.distribution().median());
+        }
+    }
+}
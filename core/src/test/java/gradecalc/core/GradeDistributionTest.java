@@ -0,0 +1,81 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Fenwick-tree order statistics against a sorted copy of the store. */
+class GradeDistributionTest {
+
+    @Test
+    void orderStatisticsMatchASortedCopy() {
+        Random random = new Random(41);
+        GradeStore store = new GradeStore();
+        GradeDistribution d = store.distribution();
+        for (int round = 0; round < 2000; round++) {
+            if (store.isEmpty() || random.nextInt(4) > 0) store.addFixed(random.nextInt(GradeStore.MAX_FIXED + 1));
+            else if (random.nextBoolean()) store.setFixed(random.nextInt(store.size()), random.nextInt(GradeStore.MAX_FIXED + 1));
+            else store.remove(random.nextInt(store.size()));
+
+            int[] sorted = sortedValues(store);
+            assertEquals(sorted.length, d.count());
+            int k = random.nextInt(sorted.length);
+            assertEquals(sorted[k], d.select(k));
+            assertEquals(sorted[0], d.select(0));
+            assertEquals(sorted[sorted.length - 1], d.select(sorted.length - 1));
+
+            int probe = random.nextInt(GradeStore.MAX_FIXED + 1);
+            assertEquals(countBelow(sorted, probe), d.countBelow(probe));
+            assertEquals(countBelow(sorted, probe + 1), d.countAtMost(probe));
+        }
+    }
+
+    @Test
+    void percentilesInterpolateBetweenRanks() {
+        GradeStore store = new GradeStore();
+        for (double g : new double[]{70, 80, 90, 100}) store.add(g);
+        GradeDistribution d = store.distribution();
+        assertEquals(85.0, d.median(), 1e-9);
+        assertEquals(70.0, d.percentile(0), 1e-9);
+        assertEquals(100.0, d.percentile(100), 1e-9);
+        assertEquals(73.0, d.percentile(10), 1e-9);
+        assertEquals(50.0, d.percentRank(80));
+        assertThrows(IndexOutOfBoundsException.class, () -> d.select(4));
+    }
+
+    @Test
+    void histogramBinsCoverEveryGrade() {
+        GradeStore store = new GradeStore();
+        for (int v = 0; v <= GradeStore.MAX_FIXED; v += 50) store.addFixed(v);
+        int[] bins = store.distribution().histogram(new int[10]);
+        assertEquals(store.size(), Arrays.stream(bins).sum());
+        assertEquals(20, bins[0]);                                   // 0 to 9.5
+        assertEquals(21, bins[9]);                                   // 90 to 100 inclusive
+    }
+
+    @Test
+    void rebuildsAfterASnapshotLoad() throws Exception {
+        GradeStore store = new GradeStore();
+        GradeDistribution d = store.distribution();
+        GradeColumn values = new GradeColumn.Heap(new short[]{500, 100, 300});
+        store.load(values, 3);
+        assertEquals(3, d.count());
+        assertEquals(300, d.select(1));
+    }
+
+    private static int[] sortedValues(GradeStore store) {
+        int[] v = new int[store.size()];
+        for (int i = 0; i < v.length; i++) v[i] = store.getFixed(i);
+        Arrays.sort(v);
+        return v;
+    }
+
+    private static int countBelow(int[] sorted, int fixed) {
+        int n = 0;
+        while (n < sorted.length && sorted[n] < fixed) n++;
+        return n;
+    }
+}
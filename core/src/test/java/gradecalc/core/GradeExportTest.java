@@ -0,0 +1,63 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeExportTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void csvHoldsOnlyRowsAndTheSummaryGoesNextToIt() throws IOException {
+        GradeStore store = new GradeStore();
+        for (double g : new double[]{88, 70, 98.5}) store.add(g);
+        Path file = dir.resolve("grades.csv");
+        try (GradeExport export = GradeExport.of(store, GradingScale.BASIC)) {
+            export.write(file, GradeExport.Format.of(file));
+        }
+        assertEquals(List.of("index,score", "1,88", "2,70", "3,98.5"), Files.readAllLines(file));
+        assertEquals(dir.resolve("grades.summary.csv"), GradeExport.summaryFile(file));
+        List<String> summary = Files.readAllLines(GradeExport.summaryFile(file));
+        assertEquals("statistic,value", summary.get(0));
+        assertTrue(summary.containsAll(List.of("count,3", "mean,85.5", "median,88", "min,70", "max,98.5", "letter,B")), summary.toString());
+        assertFalse(Files.exists(dir.resolve("grades.csv.tmp")));
+    }
+
+    @Test
+    void jsonNamesCategories() throws IOException {
+        CategoryScheme scheme = CategoryScheme.parse("t", new StringReader("Labs 1\nFinal,\"x\" 1\n"));
+        GradeStore store = new GradeStore();
+        GradeCategories categories = new GradeCategories(scheme, store);
+        store.add(50);
+        categories.setCurrent(1);
+        store.add(100);
+        Path json = dir.resolve("out.json"), csv = dir.resolve("out.csv");
+        try (GradeExport export = GradeExport.of(store, GradingScale.BASIC, categories)) {
+            export.write(json, GradeExport.Format.JSON);
+            export.write(csv, GradeExport.Format.CSV);
+        }
+        String text = Files.readString(json);
+        assertTrue(text.startsWith("{\"summary\":{\"count\":2,\"mean\":75,\"weightedMean\":75,"), text);
+        assertTrue(text.endsWith("\"grades\":[{\"score\":50,\"category\":\"Labs\"},{\"score\":100,\"category\":\"Final,\\\"x\\\"\"}]}\n"), text);
+        assertEquals("2,100,\"Final,\"\"x\"\"\"", Files.readAllLines(csv).get(2));
+        assertFalse(Files.exists(dir.resolve("out.summary.json")));
+    }
+
+    @Test
+    void emptyStoreExportsOnlyTheCount() throws IOException {
+        Path file = dir.resolve("empty.json");
+        try (GradeExport export = GradeExport.of(new GradeStore(), GradingScale.BASIC)) {
+            assertEquals(0, export.count());
+            export.write(file, GradeExport.Format.JSON);
+        }
+        assertEquals("{\"summary\":{\"count\":0},\"grades\":[]}\n", Files.readString(file));
+    }
+}
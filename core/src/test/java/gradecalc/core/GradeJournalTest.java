@@ -0,0 +1,175 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeJournalTest {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 11;
+
+    @TempDir Path dir;
+
+    private GradeJournal open(GradeStore store, long generation) throws IOException {
+        GradeJournal journal = GradeJournal.open(dir.resolve("grades.journal"), store, GradeJournal.Fsync.NEVER, 1000, generation);
+        journal.keepOpenAtExit();
+        return journal;
+    }
+
+    private static int[] values(GradeStore store) {
+        int[] v = new int[store.size()];
+        for (int i = 0; i < v.length; i++) v[i] = store.getFixed(i);
+        return v;
+    }
+
+    @Test
+    void replaysEveryKindOfMutation() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 0)) {
+            for (int i = 0; i < 20; i++) store.addFixed(i * 500);
+            store.setFixed(3, 9999);
+            store.remove(0);
+            store.removeAll(2, 5, 7, 11);
+            store.clear();
+            for (int i = 0; i < 10; i++) store.add(50 + i);
+            store.removeAll(9, 4);
+            store.set(0, 77.25);
+            assertEquals(0, journal.replayed());
+        }
+
+        GradeStore restored = new GradeStore();
+        try (GradeJournal journal = open(restored, 0)) {
+            assertArrayEquals(values(store), values(restored));
+            assertEquals(journal.records(), journal.replayed());
+            assertEquals(0, journal.truncatedBytes());
+        }
+    }
+
+    @Test
+    void truncatesATornTail() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 0)) {
+            for (int i = 0; i < 5; i++) store.addFixed(8000 + i);
+            assertEquals(5, journal.records());
+        }
+        Path file = dir.resolve("grades.journal");
+        long complete = Files.size(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(new byte[]{1, 0x1F, 0x40, 0, 0}));  // half a record
+        }
+
+        GradeStore restored = new GradeStore();
+        try (GradeJournal journal = open(restored, 0)) {
+            assertEquals(5, journal.replayed());
+            assertEquals(5, journal.truncatedBytes());
+            assertEquals(complete, Files.size(file));
+            restored.addFixed(1234);                                 // appends resume at the cut
+        }
+
+        GradeStore again = new GradeStore();
+        try (GradeJournal journal = open(again, 0)) {
+            assertArrayEquals(new int[]{8000, 8001, 8002, 8003, 8004, 1234}, values(again));
+            assertEquals(0, journal.truncatedBytes());
+        }
+    }
+
+    @Test
+    void stopsAtTheFirstRecordThatFailsItsChecksum() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 0)) {
+            for (int i = 0; i < 4; i++) store.addFixed(6000 + i);
+            assertEquals(4, journal.records());
+        }
+        Path file = dir.resolve("grades.journal");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[]{0x7F}), HEADER_BYTES + 2L * RECORD_BYTES + 2);  // third record's value
+        }
+
+        GradeStore restored = new GradeStore();
+        try (GradeJournal journal = open(restored, 0)) {
+            assertArrayEquals(new int[]{6000, 6001}, values(restored));
+            assertEquals(2L * RECORD_BYTES, journal.truncatedBytes());
+        }
+    }
+
+    @Test
+    void stopsAtARecordThatDoesNotApply() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 0)) {
+            store.addFixed(100);
+            store.addFixed(200);
+            assertEquals(2, journal.records());
+        }
+        // A well-formed record that edits an index the store doesn't have
+        GradeStore other = new GradeStore();
+        Path stray = dir.resolve("other.journal");
+        try (GradeJournal journal = GradeJournal.open(stray, other, GradeJournal.Fsync.NEVER, 1000, 0)) {
+            journal.keepOpenAtExit();
+            for (int i = 0; i < 10; i++) other.addFixed(i);
+            other.setFixed(9, 42);
+        }
+        byte[] set = new byte[RECORD_BYTES];
+        try (FileChannel ch = FileChannel.open(stray, StandardOpenOption.READ)) {
+            ch.read(ByteBuffer.wrap(set), HEADER_BYTES + 10L * RECORD_BYTES);
+        }
+        try (FileChannel ch = FileChannel.open(dir.resolve("grades.journal"), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(set));
+        }
+
+        GradeStore restored = new GradeStore();
+        try (GradeJournal journal = open(restored, 0)) {
+            assertArrayEquals(new int[]{100, 200}, values(restored));
+            assertEquals(RECORD_BYTES, journal.truncatedBytes());
+        }
+    }
+
+    @Test
+    void discardsAJournalFromAnOlderGeneration() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 3)) {
+            store.addFixed(5000);
+            assertEquals(1, journal.records());
+        }
+        GradeStore restored = new GradeStore();
+        try (GradeJournal journal = open(restored, 4)) {
+            assertEquals(0, journal.replayed());
+            assertTrue(restored.isEmpty());
+            assertEquals(HEADER_BYTES, Files.size(dir.resolve("grades.journal")));
+        }
+    }
+
+    @Test
+    void refusesAJournalNewerThanTheSnapshot() throws IOException {
+        try (GradeJournal journal = open(new GradeStore(), 5)) {
+            assertEquals(0, journal.replayed());
+        }
+        assertThrows(IOException.class, () -> open(new GradeStore(), 4));
+    }
+
+    @Test
+    void resetStartsANewGeneration() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradeJournal journal = open(store, 1)) {
+            store.addFixed(1);
+            journal.commit();
+            journal.reset(2);
+            assertEquals(0, journal.records());
+            store.addFixed(2);
+        }
+        GradeStore restored = new GradeStore();
+        restored.addFixed(1);                                        // what the generation 2 snapshot held
+        try (GradeJournal journal = open(restored, 2)) {
+            assertEquals(1, journal.replayed());
+            assertArrayEquals(new int[]{1, 2}, values(restored));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeParserTest {
+
+    private static List<Integer> parse(String text) {
+        List<Integer> out = new ArrayList<>();
+        new GradeParser(out::add).feed(text).finish();
+        return out;
+    }
+
+    private static List<Integer> parsePointOnly(String text) {
+        List<Integer> out = new ArrayList<>();
+        GradeParser.pointOnly(out::add).feed(text).finish();
+        return out;
+    }
+
+    @Test
+    void boundaries() {
+        assertEquals(List.of(0, 10000, 10000, 0), parse("0 100 100.00 -0"));
+        assertEquals(List.of(), parse("100.01 101 -5 -0.01 1000000000000"));
+    }
+
+    @Test
+    void fractionsRoundToHundredths() {
+        assertEquals(List.of(9050, 9005, 9006, 9005, 10000), parse("90.5 90.05 90.055 90.054 99.999"));
+        assertEquals(List.of(100), parse("1.004999"));
+        assertEquals(List.of(7000), parse("70."));
+        assertEquals(List.of(120, 300), parse("1.2.3"));
+    }
+
+    @Test
+    void commaIsADecimalPointUnlessPointOnly() {
+        assertEquals(List.of(9050, 8000), parse("90,5 80"));
+        assertEquals(List.of(9000, 8000, 7000), parsePointOnly("90,80,70"));
+        assertEquals(List.of(9000, 500, 8550), parsePointOnly("90,5;85.5"));
+    }
+
+    @Test
+    void separatorsAndSigns() {
+        assertEquals(List.of(), parse("- -- abc . ,"));
+        assertEquals(List.of(5000), parse("a-b50"));
+        assertEquals(List.of(8000), parse("80-90"));                  // 80, then -90
+    }
+
+    @Test
+    void countsAddedSkippedAndScanned() {
+        GradeParser p = new GradeParser(v -> {}).feed("50 150 -3 75").finish();
+        assertEquals(2, p.added());
+        assertEquals(2, p.skipped());
+        assertEquals(4, p.scanned());
+        p.reset().feed("1").finish();
+        assertEquals(1, p.added());
+        assertEquals(0, p.skipped());
+    }
+
+    @Test
+    void tokensMayStraddleChunks() {
+        String text = "12.5 99.99 100 7,25 -0 3";
+        List<Integer> whole = parse(text);
+        for (int cut = 0; cut <= text.length(); cut++) {
+            List<Integer> out = new ArrayList<>();
+            GradeParser p = new GradeParser(out::add);
+            p.feed(text, 0, cut).feed(text, cut, text.length()).finish();
+            assertEquals(whole, out, "cut at " + cut);
+        }
+    }
+
+    @Test
+    void bytesAndCharsAgree() {
+        String text = "é 88.5 ٣ 92,25 — 77 ";
+        List<Integer> fromBytes = new ArrayList<>();
+        new GradeParser(fromBytes::add).feed(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))).finish();
+        assertEquals(parse(text), fromBytes);
+        assertEquals(List.of(8850, 9225, 7700), fromBytes);
+    }
+
+    @Test
+    void matchesTheRegexItReplacedWithHalfUpRounding() {
+        Pattern token = Pattern.compile("-?\\d+(?:[.,]\\d+)?");
+        Random random = new Random(11);
+        String alphabet = "0123456789.,- x";
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String text = sb.toString();
+
+            List<Integer> expected = new ArrayList<>();
+            Matcher m = token.matcher(text);
+            while (m.find()) {
+                BigDecimal grade = new BigDecimal(m.group().replace(',', '.'));
+                if (grade.signum() >= 0 && grade.compareTo(BigDecimal.valueOf(100)) <= 0)
+                    expected.add(grade.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue());
+            }
+            assertEquals(expected, parse(text), text);
+        }
+    }
+}
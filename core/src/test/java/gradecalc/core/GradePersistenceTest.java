@@ -0,0 +1,150 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradePersistenceTest {
+
+    /** Header offset of the snapshot's sum: magic, version, generation, count, encoding and padding come first. */
+    private static final long SUM_OFFSET = 24;
+
+    @TempDir Path dir;
+
+    private GradePersistence open(GradeStore store, GradeSnapshot.Encoding encoding) throws IOException {
+        GradePersistence p = GradePersistence.open(dir, store, GradeJournal.Fsync.NEVER, 1000, encoding);
+        p.keepOpenAtExit();
+        return p;
+    }
+
+    private static int[] values(GradeStore store) {
+        int[] v = new int[store.size()];
+        for (int i = 0; i < v.length; i++) v[i] = store.getFixed(i);
+        return v;
+    }
+
+    private static void fill(GradeStore store, int n, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) store.addFixed(random.nextInt(GradeStore.MAX_FIXED + 1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GradeSnapshot.Encoding.class)
+    void snapshotRoundTrips(GradeSnapshot.Encoding encoding) throws IOException {
+        GradeStore store = new GradeStore();
+        fill(store, 50_000, 1);
+        store.addFixed(0);
+        store.addFixed(GradeStore.MAX_FIXED);
+        Path file = dir.resolve("grades.snapshot");
+        GradeSnapshot.write(store, file, 7, encoding);
+
+        GradeStore loaded = new GradeStore();
+        assertEquals(7, GradeSnapshot.load(file, loaded));
+        assertArrayEquals(values(store), values(loaded));
+        assertEquals(store.sumFixed(), loaded.sumFixed());
+    }
+
+    @Test
+    void missingSnapshotIsGenerationZero() throws IOException {
+        GradeStore store = new GradeStore();
+        assertEquals(0, GradeSnapshot.load(dir.resolve("none.snapshot"), store));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    void corruptSnapshotIsRejectedAndTheStoreKept() throws IOException {
+        GradeStore store = new GradeStore();
+        fill(store, 1000, 2);
+        Path file = dir.resolve("grades.snapshot");
+        GradeSnapshot.write(store, file, 1, GradeSnapshot.Encoding.RAW);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), Files.size(file) - 1);
+        }
+
+        GradeStore target = new GradeStore();
+        target.addFixed(4242);
+        assertThrows(IOException.class, () -> GradeSnapshot.load(file, target));
+        assertArrayEquals(new int[]{4242}, values(target));
+    }
+
+    @Test
+    void snapshotWhoseSumDisagreesIsRejectedBeforeLoading() throws IOException {
+        GradeStore store = new GradeStore();
+        fill(store, 1000, 6);
+        Path file = dir.resolve("grades.snapshot");
+        GradeSnapshot.write(store, file, 1, GradeSnapshot.Encoding.DELTA_VARINT);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer sum = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, store.sumFixed() + 1);
+            ch.write(sum, SUM_OFFSET);                               // the payload checksum still passes
+        }
+
+        GradeStore target = new GradeStore();
+        target.addFixed(4242);
+        IOException e = assertThrows(IOException.class, () -> GradeSnapshot.load(file, target));
+        assertTrue(e.getMessage().contains("sum mismatch"), e.getMessage());
+        assertArrayEquals(new int[]{4242}, values(target));
+        assertEquals(4242, target.sumFixed());
+    }
+
+    @Test
+    void checkpointFoldsTheJournalIntoTheNextGeneration() throws IOException {
+        GradeStore store = new GradeStore();
+        try (GradePersistence p = open(store, GradeSnapshot.Encoding.DELTA_VARINT)) {
+            fill(store, 1000, 3);
+            p.checkpoint();
+            store.removeAll(1, 2, 3);
+            store.setFixed(0, 1);
+        }                                                            // close checkpoints again
+
+        GradeStore restored = new GradeStore();
+        try (GradePersistence p = open(restored, GradeSnapshot.Encoding.DELTA_VARINT)) {
+            assertArrayEquals(values(store), values(restored));
+            assertTrue(p.startupReport().contains("journal: 0 records"), p.startupReport());
+        }
+    }
+
+    @Test
+    void crashBetweenSnapshotAndJournalResetAppliesNothingTwice() throws IOException {
+        GradeStore store = new GradeStore();
+        GradeJournal journal = GradeJournal.open(dir.resolve("grades.journal"), store, GradeJournal.Fsync.NEVER, 1000, 0);
+        journal.keepOpenAtExit();
+        fill(store, 100, 4);
+        store.remove(5);
+        // checkpoint() writes the next snapshot, then resets the journal; crash in between
+        GradeSnapshot.write(store, dir.resolve("grades.snapshot"), 1, GradeSnapshot.Encoding.RAW);
+        journal.close();
+
+        GradeStore restored = new GradeStore();
+        try (GradePersistence p = open(restored, GradeSnapshot.Encoding.RAW)) {
+            assertArrayEquals(values(store), values(restored));
+            assertTrue(p.startupReport().contains("journal: 0 records"), p.startupReport());
+        }
+    }
+
+    @Test
+    void offHeapStoreRestoresTheSame() throws IOException {
+        GradeStore heap = new GradeStore();
+        try (GradePersistence p = open(heap, GradeSnapshot.Encoding.RAW)) {
+            fill(heap, 10_000, 5);
+            p.checkpoint();
+        }
+        GradeStore mapped = GradeStore.offHeap(dir.resolve("scratch"));
+        try (GradePersistence p = open(mapped, GradeSnapshot.Encoding.RAW)) {
+            assertTrue(mapped.isOffHeap());
+            assertArrayEquals(values(heap), values(mapped));
+            assertEquals(0, p.truncatedBytes());
+        }
+    }
+}
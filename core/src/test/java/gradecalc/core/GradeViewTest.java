@@ -0,0 +1,116 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Checks the incrementally maintained view against a sort of the whole store after every change. */
+class GradeViewTest {
+
+    /** Store indexes in view order, computed from scratch. */
+    private static int[] bruteForce(GradeStore store, GradeView.Order order, int lo, int hi) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            int v = store.getFixed(i);
+            if (v >= lo && v <= hi) rows.add(i);
+        }
+        Comparator<Integer> byScore = Comparator.<Integer>comparingInt(store::getFixed).thenComparingInt(i -> i);
+        if (order == GradeView.Order.ASCENDING) rows.sort(byScore);
+        if (order == GradeView.Order.DESCENDING) rows.sort(byScore.reversed());
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] viewed(GradeView view) {
+        int[] rows = new int[view.size()];
+        for (int r = 0; r < rows.length; r++) rows[r] = view.storeIndex(r);
+        return rows;
+    }
+
+    private static void check(GradeView view, GradeStore store) {
+        int[] expected = bruteForce(store, view.order(), view.rangeLow(), view.rangeHigh());
+        assertArrayEquals(expected, viewed(view));
+        for (int r = 0; r < expected.length; r++) assertEquals(r, view.viewRow(expected[r]));
+    }
+
+    @Test
+    void matchesASortAfterEveryMutation() {
+        Random random = new Random(31);
+        for (GradeView.Order order : GradeView.Order.values()) {
+            for (int[] range : new int[][]{{0, GradeStore.MAX_FIXED}, {2000, 7999}}) {
+                GradeStore store = new GradeStore();
+                GradeView view = new GradeView(store);
+                view.setOrder(order);
+                view.setRange(range[0], range[1]);
+                for (int round = 0; round < 3000; round++) {
+                    mutate(store, random);
+                    check(view, store);
+                }
+            }
+        }
+    }
+
+    @Test
+    void batchesCatchUpWhenTheyEnd() {
+        Random random = new Random(32);
+        GradeStore store = new GradeStore();
+        GradeView view = new GradeView(store);
+        view.setOrder(GradeView.Order.DESCENDING);
+        for (int round = 0; round < 50; round++) {
+            view.beginBatch();
+            for (int i = 0; i < 40; i++) mutate(store, random);
+            if (round % 5 == 0) check(view, store);                  // read in the middle of a batch
+            view.endBatch();
+            check(view, store);
+        }
+    }
+
+    @Test
+    void followsOrderRangeAndStoreChanges() {
+        Random random = new Random(33);
+        GradeStore a = new GradeStore(), b = new GradeStore();
+        for (int i = 0; i < 500; i++) {
+            a.addFixed(random.nextInt(GradeStore.MAX_FIXED + 1));
+            b.addFixed(random.nextInt(100) * 100);
+        }
+        GradeView view = new GradeView(a);
+        check(view, a);
+        view.setOrder(GradeView.Order.ASCENDING);
+        check(view, a);
+        view.setRange(5000, 5000);
+        check(view, a);
+        view.setStore(b);
+        check(view, b);
+        assertEquals(-1, view.viewRow(findOutside(b, 5000)));
+        view.clearRange();
+        view.setOrder(GradeView.Order.INSERTION);
+        check(view, b);
+        a.addFixed(1);                                               // the old store no longer reports
+        check(view, b);
+    }
+
+    private static int findOutside(GradeStore store, int value) {
+        for (int i = 0; ; i++) if (store.getFixed(i) != value) return i;
+    }
+
+    /** Adds, edits (often to a tied score), removes, bulk-removes or clears. */
+    private static void mutate(GradeStore store, Random random) {
+        int op = random.nextInt(100);
+        int v = random.nextBoolean() ? random.nextInt(11) * 1000 : random.nextInt(GradeStore.MAX_FIXED + 1);
+        if (op < 55 || store.isEmpty()) {
+            store.addFixed(v);
+        } else if (op < 80) {
+            store.setFixed(random.nextInt(store.size()), v);
+        } else if (op < 95) {
+            store.remove(random.nextInt(store.size()));
+        } else if (op < 99) {
+            store.removeAll(random.ints(1 + random.nextInt(5), 0, store.size()).toArray());
+        } else {
+            store.clear();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package gradecalc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradebookTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void attachCountsGradesRestoredBeforeIt() throws IOException {
+        GradeStore saved = new GradeStore();
+        for (double g : new double[]{90, 80, 70}) saved.add(g);
+        Path file = dir.resolve("grades.snapshot");
+        GradeSnapshot.write(saved, file, 1, GradeSnapshot.Encoding.RAW);
+
+        GradeStore store = new GradeStore();
+        GradeSnapshot.load(file, store);                             // replaces the column without telling listeners
+        Gradebook book = new Gradebook();
+        book.attach(Gradebook.DEFAULT_STUDENT, Gradebook.DEFAULT_COURSE, store);
+        assertEquals(3, book.gradeCount(Gradebook.DEFAULT_STUDENT));
+        assertEquals(80.0, book.studentAverage(Gradebook.DEFAULT_STUDENT), 1e-9);
+
+        store.remove(0);
+        store.remove(0);
+        store.remove(0);
+        assertEquals(0, book.gradeCount(Gradebook.DEFAULT_STUDENT));  // never negative
+        store.add(100);
+        assertEquals(100.0, book.courseAverage(Gradebook.DEFAULT_COURSE), 1e-9);
+        assertThrows(IllegalStateException.class,
+                () -> book.attach(Gradebook.DEFAULT_STUDENT, Gradebook.DEFAULT_COURSE, new GradeStore()));
+    }
+
+    @Test
+    void totalsFollowEveryStoreAndCourse() {
+        Gradebook book = new Gradebook();
+        GradeStore aMath = book.grades("ann", "math"), aArt = book.grades("ann", "art"), bMath = book.grades("bo", "math");
+        assertSame(aMath, book.grades("ann", "math"));
+        assertNull(book.find("bo", "art"));
+
+        aMath.add(90);
+        aArt.add(70);
+        bMath.add(60);
+        bMath.add(80);
+        assertEquals(2, book.gradeCount("ann"));
+        assertEquals(80.0, book.studentAverage("ann"), 1e-9);
+        assertEquals(3, book.courseGradeCount("math"));
+        assertEquals(76.67, book.courseAverage("math"), 0.01);
+
+        bMath.set(0, 100);
+        assertEquals(90.0, book.courseAverage("math"), 1e-9);
+        bMath.clear();
+        assertEquals(1, book.courseGradeCount("math"));
+        assertEquals(1, book.courseDistribution("math").count());
+    }
+}
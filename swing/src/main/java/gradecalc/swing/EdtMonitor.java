@@ -0,0 +1,139 @@
+package gradecalc.swing;
+
+import gradecalc.core.GradeEvents;
+import gradecalc.core.LatencyHistogram;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Event queue that times every event the EDT dispatches and reports stalls.
+ *
+ * Each dispatch is recorded in a {@link LatencyHistogram}, counting only the
+ * time the event itself kept the thread busy: a modal dialog pumps nested
+ * events from inside its caller's dispatch, and both those events and the
+ * idle wait between them are subtracted from the caller. A dispatch over the
+ * threshold ({@code grades.edtStallMs}, default 100) is committed as a
+ * {@link GradeEvents.EventThreadStall}. A watchdog thread also logs the EDT's
+ * stack while a stall is still in progress, so a hang points at its cause.
+ */
+final class EdtMonitor extends EventQueue {
+
+    private static final int STACK_FRAMES = 12;
+
+    private final long thresholdNanos;
+    private final LatencyHistogram dispatches = new LatencyHistogram();
+    private final LongAdder stalls = new LongAdder();
+
+    // Written on the EDT only
+    private int depth;
+    private long[] excluded = new long[4];   // nested dispatch and idle time, per depth
+    private Thread edt;
+
+    // Read by the watchdog
+    private volatile long busySince;         // 0 while idle
+    private volatile AWTEvent current;
+    private long reported;                   // watchdog thread only
+
+    private EdtMonitor(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /** Replaces the system event queue with a monitor and starts its watchdog. */
+    static EdtMonitor install() {
+        long millis = Math.max(1, Long.getLong("grades.edtStallMs", 100));
+        EdtMonitor monitor = new EdtMonitor(millis);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "edt-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, millis / 2);
+        watchdog.scheduleAtFixedRate(monitor::check, period, period, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    /** Busy time of each dispatched event. */
+    LatencyHistogram dispatches() { return dispatches; }
+
+    long stalls() { return stalls.sum(); }
+
+    long thresholdMillis() { return TimeUnit.NANOSECONDS.toMillis(thresholdNanos); }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long start = System.nanoTime();
+        int d = depth++;
+        if (d == excluded.length) excluded = Arrays.copyOf(excluded, d * 2);
+        excluded[d] = 0;
+        if (edt == null) edt = Thread.currentThread();
+        current = event;
+        busySince = start;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long end = System.nanoTime();
+            depth = d;
+            long busy = end - start - excluded[d];
+            if (d > 0) {
+                excluded[d - 1] += end - start;
+                busySince = end;             // the outer event resumes
+            } else {
+                busySince = 0;
+                current = null;
+            }
+            dispatches.record(busy);
+            if (busy >= thresholdNanos) {
+                stalls.increment();
+                GradeEvents.EventThreadStall stall = new GradeEvents.EventThreadStall();
+                stall.event = describe(event);
+                stall.busy = busy;
+                stall.commit();
+            }
+        }
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        if (!isDispatchThread()) return super.getNextEvent();
+        long idleFrom = System.nanoTime();
+        busySince = 0;
+        try {
+            return super.getNextEvent();
+        } finally {
+            if (depth > 0) excluded[depth - 1] += System.nanoTime() - idleFrom; // a modal loop waiting
+        }
+    }
+
+    /** Watchdog tick: logs the EDT's stack once per dispatch that is over the threshold. */
+    private void check() {
+        long since = busySince;
+        if (since == 0 || since == reported) return;
+        long busy = System.nanoTime() - since;
+        if (busy < thresholdNanos) return;
+        reported = since;
+        Thread t = edt;
+        StringBuilder sb = new StringBuilder(512)
+                .append(String.format("Event thread blocked for %d ms handling %s%n",
+                        TimeUnit.NANOSECONDS.toMillis(busy), describe(current)));
+        if (t != null) {
+            StackTraceElement[] stack = t.getStackTrace();
+            for (int i = 0; i < Math.min(STACK_FRAMES, stack.length); i++) sb.append("\tat ").append(stack[i]).append('\n');
+            if (stack.length > STACK_FRAMES) sb.append("\t... ").append(stack.length - STACK_FRAMES).append(" more\n");
+        }
+        System.err.print(sb);
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event == null) return "an event";
+        String name = event.getClass().getSimpleName();
+        return name.isEmpty() ? event.getClass().getName() : name;
+    }
+}
@@ -0,0 +1,1185 @@
+package gradecalc.swing;
+
+import gradecalc.core.CategoryScheme;
+import gradecalc.core.GradeCategories;
+import gradecalc.core.GradeDistribution;
+import gradecalc.core.GradeEvents;
+import gradecalc.core.GradeExport;
+import gradecalc.core.GradeParser;
+import gradecalc.core.GradePersistence;
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradeView;
+import gradecalc.core.Gradebook;
+import gradecalc.core.GradingScale;
+import gradecalc.core.LatencyHistogram;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.JTableHeader;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+
+public class GradeCalculator extends JFrame {
+
+    // ---------- Data ----------
+    private final Gradebook gradebook = new Gradebook();
+    private GradeStore grades = new GradeStore();   // the selected student's grades in the selected course
+    private GradeStore savedGrades;                 // me / General, the only scope kept between runs; set once loaded
+    private final DecimalFormat df = new DecimalFormat("#0.##");
+    private final GradeParser parser = new GradeParser(v -> grades.addFixed(v));
+    private final GradeTableModel model = new GradeTableModel(grades);
+
+    // ---------- Categories (only with grades.categories set) ----------
+    private CategoryScheme categoryScheme;
+    private GradeCategories categories;             // for the selected store
+    private final Map<GradeStore, GradeCategories> scopeCategories = new IdentityHashMap<>();
+    private GradePersistence tagStorage;
+    private JComboBox<String> categoryBox;
+
+    // ---------- Header widgets ----------
+    private JLabel headerAvg;
+    private JLabel headerLetter;
+    private JLabel headerGpa;
+
+    // ---------- Student / course selection ----------
+    private JComboBox<String> studentBox;
+    private JComboBox<String> courseBox;
+    private JLabel scopeSummary;
+    private JLabel scopeUnsaved;
+    private String selectedStudent = Gradebook.DEFAULT_STUDENT;
+    private String selectedCourse = Gradebook.DEFAULT_COURSE;
+
+    // ---------- Cards (each built the first time it is shown) ----------
+    private CardLayout cardLayout;
+    private JPanel cardHost;
+    private final Map<String, Supplier<JComponent>> unbuiltCards = new HashMap<>();
+
+    // ---------- UI on cards ----------
+    private JTextArea scoresArea;
+    private JButton addButton;
+    private JProgressBar importProgress;
+    private JButton cancelImport;
+    private JTable table;
+
+    // ---------- Background import ----------
+    private static final int ASYNC_IMPORT_CHARS = 64 * 1024;
+    private GradeImport importTask;
+
+    private DoubleConsumer averageUpdater;
+    private GradePersistence storage;
+    private static final int HISTOGRAM_BINS = 10;
+
+    private final Toaster toaster = new Toaster(this);
+    private final RefreshScheduler refresh = new RefreshScheduler(this::refreshHeader);
+    private JComponent averageCard;
+    private boolean averageStale;        // the average card is only redrawn while it is showing
+
+    // ---------- Instrumentation ----------
+    private final SessionMetrics metrics = new SessionMetrics();
+    private final EdtMonitor edtMonitor;
+    private static final int METRICS_REFRESH_MS = 1000;
+
+    // ---------- Startup ----------
+    private final StartupProfile profile;
+    private boolean painted;             // the saved grades are loaded after the first paint
+    private boolean loading = true;      // until then the grades shown are an empty stand-in for the saved ones
+
+    public static void main(String[] args) {
+        StartupProfile profile = Arrays.asList(args).contains("--profile-startup") ? StartupProfile.start() : StartupProfile.OFF;
+        EdtMonitor monitor = EdtMonitor.install();
+        profile.mark("event queue");
+        SwingUtilities.invokeLater(() -> {
+            GradeCalculator frame = new GradeCalculator(monitor, profile);
+            frame.setVisible(true);
+            profile.mark("show window");
+        });
+    }
+
+    public GradeCalculator() {
+        this(null, StartupProfile.OFF);
+    }
+
+    /**
+     * {@code edtMonitor} may be null, in which case the metrics card shows no event-thread figures.
+     * Only what the first frame shows is built here; saved grades are loaded once it has painted.
+     */
+    GradeCalculator(EdtMonitor edtMonitor, StartupProfile profile) {
+        this.edtMonitor = edtMonitor;
+        this.profile = profile;
+        profile.mark("event thread start");
+        // Every component takes its UI delegate from the look and feel when it is made, so this can't wait
+        applyNimbus();
+        setDarkDefaults();
+        profile.mark("look and feel");
+        loadScale();
+        loadCategoryScheme();
+        profile.mark("settings");
+
+        setTitle("Grade Calculator");
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosing(WindowEvent e) { quit(); }
+        });
+        setMinimumSize(new Dimension(900, 620));
+
+        setContentPane(buildRoot());
+        setLoading(true);
+        refreshHeader();
+        profile.mark("build window");
+    }
+
+    /** Runs after the first paint: replays the saved grades and their category tags on a worker. */
+    private void finishStartup() {
+        new SavedGradesLoad().execute();
+    }
+
+    /**
+     * Loads the saved grades and their category tags into a new store on a
+     * worker thread, so a long journal replay doesn't freeze the window. Only
+     * the worker touches the new store until done() switches the gradebook,
+     * model and views over to it on the EDT.
+     */
+    private final class SavedGradesLoad extends SwingWorker<Void, Void> {
+        private GradeStore loaded;
+        private GradePersistence loadedStorage;
+        private GradePersistence loadedTagStorage;
+        private GradeCategories loadedCategories;
+
+        @Override protected Void doInBackground() {
+            loaded = persistedStore();
+            loadedStorage = openStorage(loaded);
+            if (categoryScheme != null) openCategories();
+            return null;
+        }
+
+        /** Files the loaded grades under the configured categories, with their tags saved next to them. */
+        private void openCategories() {
+            GradeStore tags = loaded.companion();
+            if (loadedStorage != null) {
+                try {
+                    loadedTagStorage = GradePersistence.openDefault(tags, GradePersistence.dataDir().resolve("categories"));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Grade categories will not be saved: " + e.getMessage());
+                    tags = loaded.companion();
+                }
+            }
+            loadedCategories = new GradeCategories(categoryScheme, loaded, tags);
+        }
+
+        @Override protected void done() {
+            try {
+                get();
+            } catch (ExecutionException | InterruptedException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                System.err.println("Could not load saved grades; they will not be saved: " + cause.getMessage());
+                close(loadedStorage, "grades");
+                close(loadedTagStorage, "grade categories");
+                loaded = new GradeStore();
+                loadedStorage = loadedTagStorage = null;
+                loadedCategories = categoryScheme == null ? null : new GradeCategories(categoryScheme, loaded);
+            }
+            storage = loadedStorage;
+            tagStorage = loadedTagStorage;
+            grades = savedGrades = loaded;
+            // Attached only now: a snapshot load replaces the column without telling listeners,
+            // so the gradebook counts the restored grades when the store is attached
+            gradebook.attach(Gradebook.DEFAULT_STUDENT, Gradebook.DEFAULT_COURSE, grades);
+            if (loadedCategories != null) useLoadedCategories(loadedCategories);
+            model.setStore(grades);
+            model.setCategories(categories);
+            showScopeSaved();
+            setLoading(false);
+            profile.mark("load saved grades");
+            refreshHeader();
+            profile.mark("summary");
+            profile.print();
+        }
+    }
+
+    // ---------------- Look & Feel ----------------
+
+    private static void applyNimbus() {
+        try {
+            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
+        } catch (Exception ignored) {}
+    }
+
+    private void setDarkDefaults() {
+        Theme.installDarkDefaults();
+    }
+
+    // ---------------- Root layout ----------------
+
+    private JComponent buildRoot() {
+        JPanel root = new JPanel(new BorderLayout()) {
+            @Override public void paint(Graphics g) {
+                super.paint(g);
+                if (painted) return;
+                painted = true;
+                profile.firstPaint();
+                SwingUtilities.invokeLater(GradeCalculator.this::finishStartup);
+            }
+        };
+        root.add(buildHeader(), BorderLayout.NORTH);
+        root.add(buildBody(), BorderLayout.CENTER);
+        return root;
+    }
+
+    private JComponent buildHeader() {
+        JPanel header = new Theme.GradientPanel(new BorderLayout());
+        header.setBorder(new EmptyBorder(14, 16, 14, 16));
+
+        JLabel title = new JLabel("Grade Calculator ✅");
+        title.setForeground(Color.WHITE);
+        title.setFont(title.getFont().deriveFont(Font.BOLD, 20f));
+        title.setIconTextGap(12);
+
+        JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        right.setOpaque(false);
+
+        headerAvg = chip("Avg: 0");
+        headerLetter = chip("—");
+        headerGpa = chip("GPA: 0.00");
+
+        JButton addBtn = primary("Add", e -> showCard("add"));
+        JButton listBtn = primary("Grades", e -> showCard("list"));
+        JButton avgBtn = primary("Average", e -> showCard("avg"));
+        JButton metricsBtn = primary("Metrics", e -> showCard("metrics"));
+        JButton exitBtn = primary("Exit", e -> dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING)));
+
+        right.add(headerAvg); right.add(headerLetter); right.add(headerGpa);
+        right.add(addBtn); right.add(listBtn); right.add(avgBtn); right.add(metricsBtn); right.add(exitBtn);
+
+        header.add(title, BorderLayout.WEST);
+        header.add(right, BorderLayout.EAST);
+        return header;
+    }
+
+    private JPanel buildBody() {
+        cardLayout = new CardLayout();
+        cardHost = new JPanel(cardLayout);
+        cardHost.setBorder(new EmptyBorder(16, 16, 16, 16));
+
+        unbuiltCards.put("add", this::buildAddCard);
+        unbuiltCards.put("list", this::buildListCard);
+        unbuiltCards.put("avg", this::buildAverageCard);
+        unbuiltCards.put("metrics", this::buildMetricsCard);
+
+        showCard("add");
+
+        JPanel bodyWrap = new JPanel(new BorderLayout());
+        bodyWrap.add(buildScopeBar(), BorderLayout.NORTH);
+        bodyWrap.add(cardHost, BorderLayout.CENTER);
+        return bodyWrap;
+    }
+
+    private JComponent buildScopeBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        bar.setBorder(new EmptyBorder(12, 22, 0, 22));
+
+        studentBox = scopeBox(Gradebook.DEFAULT_STUDENT);
+        courseBox = scopeBox(Gradebook.DEFAULT_COURSE);
+        scopeSummary = new JLabel();
+        scopeSummary.setForeground(Theme.INSTRUCTION_TEXT);
+        scopeUnsaved = new JLabel("Not saved");
+        scopeUnsaved.setForeground(Theme.WARNING);
+        scopeUnsaved.setToolTipText("Only " + Gradebook.DEFAULT_STUDENT + " / " + Gradebook.DEFAULT_COURSE
+                + " is saved between runs; grades and categories here are lost on exit");
+        scopeUnsaved.setVisible(false);
+
+        bar.add(new JLabel("Student"));
+        bar.add(studentBox);
+        bar.add(Box.createHorizontalStrut(6));
+        bar.add(new JLabel("Course"));
+        bar.add(courseBox);
+        bar.add(scopeUnsaved);
+        bar.add(Box.createHorizontalStrut(6));
+        bar.add(scopeSummary);
+        return bar;
+    }
+
+    private JComboBox<String> scopeBox(String initial) {
+        JComboBox<String> box = new JComboBox<>(new String[]{initial});
+        box.setEditable(true);
+        box.setPrototypeDisplayValue("XXXXXXXXXXXXXXXX");
+        box.addActionListener(e -> selectScope());
+        return box;
+    }
+
+    // ---------------- Cards ----------------
+
+    private JComponent buildAddCard() {
+        JPanel page = new JPanel();
+        page.setLayout(new BoxLayout(page, BoxLayout.Y_AXIS));
+
+        page.add(instructionCard(
+            "Instructions",
+            new String[]{
+                "• Enter one or more grades (0–100).",
+                "• Separate by spaces, commas, or new lines.",
+                "• Press Ctrl/⌘ + Enter or click “Add grades”."
+            }
+        ));
+        page.add(Box.createVerticalStrut(12));
+
+        JPanel wrap = card("Add grades");
+        JPanel form = new JPanel(new GridBagLayout());
+        form.setOpaque(false);
+        
+        GridBagConstraints gc = new GridBagConstraints();
+        gc.fill = GridBagConstraints.HORIZONTAL;
+        gc.weightx = 1;
+
+        scoresArea = new JTextArea(4, 24);
+        scoresArea.setLineWrap(true);
+        scoresArea.setWrapStyleWord(true);
+        scoresArea.setBackground(Theme.ROW_ALT);
+        scoresArea.setForeground(Color.WHITE);
+        scoresArea.setCaretColor(Color.WHITE);
+        scoresArea.setSelectedTextColor(Color.WHITE);
+        scoresArea.setSelectionColor(Theme.ACCENT);
+
+        JScrollPane areaScroll = new JScrollPane(scoresArea);
+        areaScroll.setBorder(BorderFactory.createEmptyBorder());
+
+        addButton = primary("Add grades", e -> addGradesFromArea());
+        JButton clear = ghost("Clear", e -> scoresArea.setText(""));
+
+        importProgress = new JProgressBar(0, 100);
+        importProgress.setStringPainted(true);
+        importProgress.setVisible(false);
+        cancelImport = ghost("Cancel import", e -> { if (importTask != null) importTask.cancel(false); });
+        cancelImport.setVisible(false);
+
+        if (categoryScheme != null) {
+            String[] names = new String[categoryScheme.size()];
+            for (int c = 0; c < names.length; c++) names[c] = categoryScheme.categoryName(c);
+            categoryBox = new JComboBox<>(names);
+            categoryBox.addActionListener(e -> { if (categories != null) categories.setCurrent(categoryBox.getSelectedIndex()); });
+            JPanel categoryRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+            categoryRow.setOpaque(false);
+            categoryRow.add(new JLabel("Category"));
+            categoryRow.add(categoryBox);
+            gc.insets = new Insets(0, 16, 0, 16);
+            gc.gridx=0; gc.gridy=0; form.add(categoryRow, gc);
+        }
+
+        gc.insets = new Insets(8, 16, 0, 16);
+        gc.gridx=0; gc.gridy=1; form.add(areaScroll, gc);
+        
+        gc.gridy=2; gc.weightx=0; gc.fill = GridBagConstraints.NONE; 
+        gc.insets = new Insets(8, 0, 0, 0); 
+        form.add(addButton, gc);
+        
+        gc.gridy=3; form.add(clear, gc);
+
+        gc.gridy=4; gc.weightx=1; gc.fill = GridBagConstraints.HORIZONTAL;
+        gc.insets = new Insets(12, 16, 0, 16);
+        form.add(importProgress, gc);
+
+        gc.gridy=5; gc.weightx=0; gc.fill = GridBagConstraints.NONE;
+        gc.insets = new Insets(8, 0, 0, 0);
+        form.add(cancelImport, gc);
+
+        // Ctrl/Cmd + Enter submits
+        InputMap im = scoresArea.getInputMap();
+        ActionMap am = scoresArea.getActionMap();
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx()), "submit");
+        am.put("submit", new AbstractAction() { public void actionPerformed(ActionEvent e) { addGradesFromArea(); } });
+
+        wrap.add(form, BorderLayout.CENTER);
+        page.add(wrap);
+        return page;
+    }
+
+    private JPanel instructionCard(String title, String[] lines) {
+        JPanel wrap = new JPanel(new BorderLayout());
+        JPanel card = new JPanel(new BorderLayout());
+        card.setOpaque(true);
+        card.setBackground(Theme.INSTRUCTION_BG);
+        card.setBorder(new EmptyBorder(16, 16, 16, 16));
+
+        JLabel h = new JLabel(title);
+        h.setFont(h.getFont().deriveFont(Font.BOLD, 16f));
+        h.setForeground(Color.WHITE);
+        card.add(h, BorderLayout.NORTH);
+
+        JPanel list = new JPanel();
+        list.setOpaque(false);
+        list.setLayout(new GridLayout(lines.length, 1, 0, 6));
+        for (String line : lines) {
+            JLabel l = new JLabel(line);
+            l.setForeground(Theme.INSTRUCTION_TEXT);
+            l.setFont(l.getFont().deriveFont(13f));
+            list.add(l);
+        }
+        card.add(list, BorderLayout.CENTER);
+        wrap.add(card, BorderLayout.CENTER);
+        return wrap;
+    }
+
+    private JComponent buildListCard() {
+        JPanel wrap = card("Your grades");
+        table = new JTable(model) {
+            @Override protected void paintComponent(Graphics g) {
+                GradeEvents.TablePaint event = new GradeEvents.TablePaint();
+                event.begin();
+                long start = System.nanoTime();
+                super.paintComponent(g);
+                metrics.paint.record(System.nanoTime() - start);
+                event.rows = getRowCount();
+                event.commit();
+            }
+        };
+
+        table.setRowHeight(28);
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        table.setForeground(Color.WHITE);
+        table.setBackground(Theme.CARD_BG);
+        table.setGridColor(Theme.GRID);
+        table.setSelectionBackground(Theme.BRAND);
+        table.setSelectionForeground(Color.WHITE);
+
+        table.setDefaultRenderer(Object.class, new Theme.StripedRenderer());
+
+        JTableHeader th = table.getTableHeader();
+        th.setBackground(Theme.BRAND);
+        th.setForeground(Color.WHITE);
+        th.setFont(th.getFont().deriveFont(Font.BOLD));
+
+        JScrollPane sp = new JScrollPane(table);
+        sp.setBorder(BorderFactory.createEmptyBorder());
+
+        JPanel body = new JPanel(new BorderLayout());
+        body.setOpaque(false);
+        body.add(buildViewBar(), BorderLayout.NORTH);
+        body.add(sp, BorderLayout.CENTER);
+        wrap.add(body, BorderLayout.CENTER);
+
+        // ---------- Toolkit row ----------
+        JPanel toolkit = new JPanel(new FlowLayout(FlowLayout.CENTER, 14, 10));
+        toolkit.setOpaque(false);
+
+        JButton editBtn = primary("Edit Grade", e -> {
+            if (stillLoading()) return;
+            int row = table.getSelectedRow();
+            if (row >= 0) {
+                int index = model.view().storeIndex(row);
+                String newVal = JOptionPane.showInputDialog(this,
+                        "Enter new grade (0–100):", grades.get(index));
+                if (newVal != null) {
+                    try {
+                        double updated = Double.parseDouble(newVal);
+                        if (updated < 0 || updated > 100) {
+                            toast("Grade must be 0–100");
+                            return;
+                        }
+                        grades.set(index, updated);
+                        // a sorted view may have moved the row; follow it unless it was filtered out
+                        int moved = model.view().viewRow(index);
+                        if (moved >= 0) table.setRowSelectionInterval(moved, moved);
+                        refresh.request();
+                    } catch (NumberFormatException ex) {
+                        toast("Invalid number");
+                    }
+                }
+            } else {
+                toast("Select a grade first");
+            }
+        });
+
+        JButton removeBtn = primary("Remove Grade", e -> {
+            if (stillLoading()) return;
+            int[] rows = table.getSelectedRows();
+            if (rows.length > 0) {
+                int[] indexes = new int[rows.length];
+                for (int i = 0; i < rows.length; i++) indexes[i] = model.view().storeIndex(rows[i]);
+                int removed = grades.removeAll(indexes);
+                // keep a row selected so repeated removals don't need re-clicking
+                if (model.getRowCount() > 0) {
+                    int next = Math.min(rows[0], model.getRowCount() - 1);
+                    table.setRowSelectionInterval(next, next);
+                }
+                refresh.request();
+                if (removed > 1) toast("Removed " + removed);
+            } else {
+                toast("Select a grade first");
+            }
+        });
+
+        JButton resetBtn = primary("Reset", e -> {
+            if (stillLoading()) return;
+            grades.clear();
+            refresh.request();
+            toast("All grades cleared");
+        });
+
+        JButton exportBtn = primary("Export…", e -> exportGrades((JButton) e.getSource()));
+
+        toolkit.add(editBtn);
+        toolkit.add(removeBtn);
+        toolkit.add(resetBtn);
+        toolkit.add(exportBtn);
+
+        wrap.add(toolkit, BorderLayout.SOUTH);
+        return wrap;
+    }
+
+    /** Sort order and score-range filter for the grades table. */
+    private JComponent buildViewBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
+        bar.setOpaque(false);
+
+        JComboBox<String> sortBox = new JComboBox<>(new String[]{"Order added", "Score: low to high", "Score: high to low"});
+        sortBox.addActionListener(e -> {
+            GradeView.Order[] orders = GradeView.Order.values(); // same order as the labels
+            model.view().setOrder(orders[sortBox.getSelectedIndex()]);
+        });
+
+        JTextField from = new JTextField(4), to = new JTextField(4);
+        ActionListener apply = e -> {
+            String lo = from.getText().trim(), hi = to.getText().trim();
+            try {
+                double low = lo.isEmpty() ? 0 : Double.parseDouble(lo);
+                double high = hi.isEmpty() ? 100 : Double.parseDouble(hi);
+                if (low < 0 || high > 100 || low > high) { toast("Range must be within 0–100"); return; }
+                model.view().setRange(GradeStore.toFixed(low), GradeStore.toFixed(high));
+            } catch (NumberFormatException ex) {
+                toast("Invalid number");
+            }
+        };
+        from.addActionListener(apply);
+        to.addActionListener(apply);
+
+        JButton all = ghost("Show all", e -> {
+            from.setText("");
+            to.setText("");
+            model.view().clearRange();
+        });
+
+        JLabel sortLabel = new JLabel("Sort");
+        JLabel showLabel = new JLabel("Scores");
+        JLabel dash = new JLabel("–");
+        for (JLabel l : new JLabel[]{sortLabel, showLabel, dash}) l.setForeground(Color.WHITE);
+
+        bar.add(sortLabel);
+        bar.add(sortBox);
+        bar.add(Box.createHorizontalStrut(10));
+        bar.add(showLabel);
+        bar.add(from);
+        bar.add(dash);
+        bar.add(to);
+        bar.add(primary("Filter", apply));
+        bar.add(all);
+        return bar;
+    }
+
+    private JComponent buildAverageCard() {
+        JPanel wrap = card("Average");
+        averageCard = wrap;
+        averageStale = true;             // filled in by showCard
+        JPanel box = new JPanel();
+        box.setOpaque(false);
+        box.setLayout(new GridLayout(3,2,8,8));
+
+        JLabel avg = big("0");
+        JLabel letter = big("—");
+        JLabel gpa = big("0.00");
+        JLabel median = big("0");
+        JLabel middle = big("0 – 0");
+        Theme.HistogramBars bars = new Theme.HistogramBars(HISTOGRAM_BINS);
+
+        avg.setForeground(Color.WHITE);
+        letter.setForeground(Color.WHITE);
+        gpa.setForeground(Color.WHITE);
+
+        box.add(tile(categoryScheme == null ? "Average" : "Weighted average", avg));
+        box.add(tile("Median", median));
+        box.add(tile("Letter", letter));
+        box.add(tile("Middle 50% (P25 – P75)", middle));
+        box.add(tile("GPA", gpa));
+        box.add(tile("Distribution (0 → 100)", bars));
+
+        wrap.add(box, BorderLayout.CENTER);
+        int[] bins = new int[HISTOGRAM_BINS];
+        averageUpdater = m -> {
+            GradeDistribution d = grades.distribution();
+            setText(avg, df.format(m));
+            avg.setToolTipText(categoryBreakdown());
+            setText(letter, letterOf(m));
+            setText(gpa, df.format(toGpa(m)));
+            setText(median, df.format(d.median()));
+            setText(middle, df.format(d.percentile(25)) + " – " + df.format(d.percentile(75)));
+            bars.setBins(d.histogram(bins));
+        };
+        return wrap;
+    }
+
+    private JComponent buildMetricsCard() {
+        JPanel wrap = card("Metrics");
+        JPanel box = new JPanel();
+        box.setOpaque(false);
+        box.setLayout(new GridLayout(3,2,8,8));
+
+        JLabel throughput = big("—");
+        JLabel ingest = big("—");
+        JLabel refresh = big("—");
+        JLabel paint = big("—");
+        JLabel edt = big("—");
+        JLabel heap = big("—");
+
+        box.add(tile("Ingest throughput", throughput));
+        box.add(tile("Add latency (p50 / p99)", ingest));
+        box.add(tile("Summary refresh (p50 / p99)", refresh));
+        box.add(tile("Table paint (p50 / p99)", paint));
+        box.add(tile(edtMonitor == null ? "Event thread" : "Event thread (p50 / p99, stalls > " + edtMonitor.thresholdMillis() + " ms)", edt));
+        box.add(tile("Heap used / max", heap));
+        wrap.add(box, BorderLayout.CENTER);
+
+        // Only sampled while the card is on screen
+        Runtime rt = Runtime.getRuntime();
+        Timer timer = new Timer(METRICS_REFRESH_MS, e -> {
+            if (!wrap.isShowing()) return;
+            throughput.setText(String.format("%,.0f grades/s  (%,d total)", metrics.gradesPerSecond(), metrics.grades()));
+            ingest.setText(percentiles(metrics.ingest));
+            refresh.setText(percentiles(metrics.refresh));
+            paint.setText(percentiles(metrics.paint));
+            if (edtMonitor != null) edt.setText(percentiles(edtMonitor.dispatches()) + "  •  " + edtMonitor.stalls());
+            long used = rt.totalMemory() - rt.freeMemory();
+            heap.setText(String.format("%,d / %,d MB", used >> 20, rt.maxMemory() >> 20));
+        });
+        timer.setInitialDelay(0);
+        timer.start();
+        return wrap;
+    }
+
+    private static String percentiles(LatencyHistogram h) {
+        if (h.count() == 0) return "—";
+        return millis(h.percentileNanos(50)) + " / " + millis(h.percentileNanos(99)) + " ms";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(nanos < 10_000_000 ? "%.2f" : "%.0f", nanos / 1e6);
+    }
+
+    // ---------------- Actions ----------------
+
+    private void addGradesFromArea() {
+        if (stillLoading()) return;
+        if (importTask != null) { toast("Import already running"); return; }
+
+        // Large pastes are parsed off the EDT so the window keeps painting
+        if (scoresArea.getDocument().getLength() >= ASYNC_IMPORT_CHARS) {
+            startImport(scoresArea.getText());
+            return;
+        }
+
+        // Parse straight out of the document's buffer; a partial-return Segment avoids copying the text
+        GradeEvents.Ingest event = new GradeEvents.Ingest();
+        event.begin();
+        long start = System.nanoTime();
+        Document doc = scoresArea.getDocument();
+        Segment seg = new Segment();
+        seg.setPartialReturn(true);
+        parser.reset();
+        model.batch(() -> {
+            try {
+                int off = 0, len = doc.getLength();
+                while (off < len) {
+                    doc.getText(off, len - off, seg);
+                    parser.feed(seg);
+                    off += seg.count;
+                }
+            } catch (BadLocationException ignored) {}
+            parser.finish();
+        });
+
+        int added = parser.added(), skipped = parser.skipped(), scanned = parser.scanned();
+        metrics.ingested(added, System.nanoTime() - start);
+        event.source = "paste";
+        event.added = added;
+        event.skipped = skipped;
+        event.commit();
+        if (scanned == 0 && scoresArea.getText().isBlank()) { toast("Enter one or more grades (0–100)"); return; }
+
+        scoresArea.setText("");
+        refresh.request();
+        if (added > 0) toast("Added " + added + (skipped>0? (" • Skipped " + skipped) : ""));
+        else toast(scanned == 0 ? "No numbers found" : "No valid grades");
+    }
+
+    private void startImport(String text) {
+        importTask = new GradeImport(text);
+        importTask.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) importProgress.setValue((Integer) e.getNewValue());
+        });
+        setImporting(true);
+        importTask.execute();
+    }
+
+    /** Grade entry and scope selection stay off until the saved grades are in. */
+    private void setLoading(boolean on) {
+        loading = on;
+        addButton.setEnabled(!on);
+        scoresArea.setEditable(!on);
+        if (categoryBox != null) categoryBox.setEnabled(!on);
+        studentBox.setEnabled(!on);
+        courseBox.setEnabled(!on);
+    }
+
+    /** True, with a toast, while the saved grades are still loading. */
+    private boolean stillLoading() {
+        if (loading) toast("Loading saved grades…");
+        return loading;
+    }
+
+    private void setImporting(boolean running) {
+        addButton.setEnabled(!running);
+        if (categoryBox != null) categoryBox.setEnabled(!running); // chunks land in the current category
+        scoresArea.setEditable(!running);
+        importProgress.setValue(0);
+        importProgress.setVisible(running);
+        cancelImport.setVisible(running);
+    }
+
+    /**
+     * Parses a large paste on a worker thread and hands fixed-point chunks
+     * back to the EDT, where each chunk becomes one rows-inserted event.
+     * Chunks go through invokeLater rather than publish() so they are
+     * guaranteed to land before done() runs.
+     */
+    private final class GradeImport extends SwingWorker<Void, Void> {
+        private static final int CHUNK = 64 * 1024;
+        private static final int SLICE = 256 * 1024;
+
+        private final String text;
+        private final GradeParser importParser = new GradeParser(this::collect);
+        private final GradeEvents.Ingest event = new GradeEvents.Ingest();
+        private final long start = System.nanoTime();
+        private int[] chunk = new int[CHUNK];
+        private int filled;
+        private int inserted;
+
+        GradeImport(String text) {
+            this.text = text;
+            event.begin();
+        }
+
+        @Override protected Void doInBackground() {
+            int len = text.length();
+            for (int off = 0; off < len && !isCancelled(); off += SLICE) {
+                int end = Math.min(len, off + SLICE);
+                importParser.feed(text, off, end);
+                setProgress((int) (end * 100L / len));
+            }
+            importParser.finish();
+            if (filled > 0) deliver(chunk, filled);
+            return null;
+        }
+
+        private void collect(int fixed) {
+            chunk[filled++] = fixed;
+            if (filled == CHUNK) {
+                deliver(chunk, filled);
+                chunk = new int[CHUNK];
+                filled = 0;
+            }
+        }
+
+        private void deliver(int[] values, int count) {
+            SwingUtilities.invokeLater(() -> {
+                if (isCancelled() || count == 0) return;
+                model.batch(() -> {
+                    for (int i = 0; i < count; i++) grades.addFixed(values[i]);
+                });
+                inserted += count;
+                refresh.request();
+            });
+        }
+
+        @Override protected void done() {
+            importTask = null;
+            setImporting(false);
+            metrics.ingested(inserted, System.nanoTime() - start);
+            event.source = "import";
+            event.added = inserted;
+            event.skipped = importParser.skipped();
+            event.commit();
+            if (isCancelled()) {
+                toast("Import cancelled • Added " + inserted);
+                return;
+            }
+            scoresArea.setText("");
+            int skipped = importParser.skipped();
+            if (inserted > 0) toast("Added " + inserted + (skipped>0? (" • Skipped " + skipped) : ""));
+            else toast(importParser.scanned() == 0 ? "No numbers found" : "No valid grades");
+        }
+    }
+
+    /**
+     * Saves the selected grades and their summary as CSV or JSON, by file
+     * extension. The column is copied on the EDT, which is quick, and the
+     * file is written on a worker so large exports don't freeze the window.
+     */
+    private void exportGrades(JButton button) {
+        if (stillLoading()) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export grades (.csv or .json)");
+        chooser.setSelectedFile(new File("grades.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        GradeExport export = GradeExport.of(grades, gradebook.scale(), categories);
+        button.setEnabled(false);
+        new SwingWorker<Long, Void>() {
+            @Override protected Long doInBackground() throws IOException {
+                try (export) {
+                    return export.write(file, GradeExport.Format.of(file));
+                }
+            }
+
+            @Override protected void done() {
+                button.setEnabled(true);
+                try {
+                    get();
+                    toast("Exported " + export.count() + " grade(s) to " + file.getFileName()
+                            + (GradeExport.Format.of(file) == GradeExport.Format.CSV ? " and its summary file" : ""));
+                } catch (ExecutionException | InterruptedException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    System.err.println("Cannot export grades: " + cause.getMessage());
+                    toast("Export failed");
+                }
+            }
+        }.execute();
+    }
+
+    /** Store for the saved grades; off the heap with {@code -Dgrades.offHeap=true}. */
+    private static GradeStore persistedStore() {
+        try {
+            return GradeStore.configured(GradePersistence.dataDir());
+        } catch (IOException e) {
+            System.err.println("Grades will be kept on the heap: " + e.getMessage());
+            return new GradeStore();
+        }
+    }
+
+    private void loadScale() {
+        try {
+            gradebook.setScale(GradingScale.configured(GradingScale.PLUS_MINUS));
+        } catch (IOException e) {
+            System.err.println("Using the default grading scale: " + e.getMessage());
+        }
+    }
+
+    /** Replays the saved grades into {@code store}; null if they can't be saved this run. */
+    private static GradePersistence openStorage(GradeStore store) {
+        try {
+            GradePersistence opened = GradePersistence.openDefault(store);
+            if (opened.truncatedBytes() > 0)
+                System.err.println("Discarded " + opened.truncatedBytes() + " bytes of an incomplete journal write.");
+            System.out.println(opened.startupReport());
+            return opened;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Grades will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** The configured categories, needed up front for the category picker. */
+    private void loadCategoryScheme() {
+        try {
+            categoryScheme = CategoryScheme.configured();
+        } catch (IOException e) {
+            System.err.println("Every grade will count equally: " + e.getMessage());
+        }
+    }
+
+    /** Makes the saved store's categories current, once the load has handed them over. */
+    private void useLoadedCategories(GradeCategories loaded) {
+        categories = loaded;
+        if (categories.repairedTags() > 0) {
+            String message = categories.repairedTags() + " saved grade(s) had no matching category tag; check their categories";
+            System.err.println(message + " (filed under " + categoryScheme.categoryName(0) + ").");
+            toast(message);
+        }
+        scopeCategories.put(grades, categories);
+        if (categoryBox != null) categories.setCurrent(categoryBox.getSelectedIndex());
+    }
+
+    private void showCard(String name) {
+        Supplier<JComponent> builder = unbuiltCards.remove(name);
+        if (builder != null) cardHost.add(builder.get(), name);
+        cardLayout.show(cardHost, name);
+        if (name.equals("avg") && averageStale) {
+            averageStale = false;
+            averageUpdater.accept(mean());
+        }
+    }
+
+    /** Switches every card to the student and course chosen in the scope bar. */
+    private void selectScope() {
+        String student = scopeText(studentBox), course = scopeText(courseBox);
+        if (student == null || course == null) return;
+        if (student.equals(selectedStudent) && course.equals(selectedCourse)) return;
+        if (importTask != null) {
+            toast("Wait for the import to finish");
+            studentBox.setSelectedItem(selectedStudent);
+            courseBox.setSelectedItem(selectedCourse);
+            return;
+        }
+        remember(studentBox, student);
+        remember(courseBox, course);
+        selectedStudent = student;
+        selectedCourse = course;
+        GradeStore next = gradebook.grades(student, course);
+        grades = next;
+        model.setStore(next);
+        if (categoryScheme != null) {
+            int current = categories.current();
+            categories = scopeCategories.computeIfAbsent(next, s -> new GradeCategories(categoryScheme, s));
+            categories.setCurrent(current);
+            model.setCategories(categories);
+        }
+        showScopeSaved();
+        refresh.request();
+    }
+
+    private void showScopeSaved() {
+        scopeUnsaved.setVisible(!isSaved(grades));
+    }
+
+    private boolean isSaved(GradeStore store) {
+        return storage != null && store == savedGrades;
+    }
+
+    /** Grades in scopes that are not saved, which exiting discards along with their categories. */
+    private int unsavedGrades() {
+        int n = 0;
+        for (int s = 0; s < gradebook.studentCount(); s++) {
+            for (int c = 0; c < gradebook.courseCount(); c++) {
+                GradeStore store = gradebook.find(gradebook.studentId(s), gradebook.courseName(c));
+                if (store != null && !isSaved(store)) n += store.size();
+            }
+        }
+        return n;
+    }
+
+    /** Saves and exits, after a warning if any grades would be lost. */
+    private void quit() {
+        int unsaved = unsavedGrades();
+        if (unsaved > 0 && JOptionPane.showConfirmDialog(this,
+                unsaved + " grade(s) outside " + Gradebook.DEFAULT_STUDENT + " / " + Gradebook.DEFAULT_COURSE
+                        + " are not saved and will be lost, with their categories.\nQuit anyway?",
+                "Unsaved grades", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        // Fold the journals into snapshots before the VM ends; each one even if the other fails
+        close(storage, "grades");
+        close(tagStorage, "grade categories");
+        dispose();
+        System.exit(0);
+    }
+
+    private static void close(GradePersistence persistence, String what) {
+        if (persistence == null) return;
+        try {
+            persistence.close();
+        } catch (IOException ex) {
+            System.err.println("Could not save " + what + ": " + ex.getMessage());
+        }
+    }
+
+    private static String scopeText(JComboBox<String> box) {
+        Object item = box.getSelectedItem();
+        String text = item == null ? "" : item.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static void remember(JComboBox<String> box, String value) {
+        DefaultComboBoxModel<String> m = (DefaultComboBoxModel<String>) box.getModel();
+        if (m.getIndexOf(value) < 0) m.addElement(value);
+    }
+
+    // ---------------- Helpers ----------------
+
+    /** Weighted by category when categories are configured, otherwise the plain mean. */
+    private double mean() {
+        return categories != null ? categories.weightedMean() : grades.stats().mean();
+    }
+
+    /** One line per category for the average tile's tooltip, or null without categories. */
+    private String categoryBreakdown() {
+        if (categories == null) return null;
+        StringBuilder sb = new StringBuilder("<html>");
+        for (int c = 0; c < categoryScheme.size(); c++) {
+            if (c > 0) sb.append("<br>");
+            sb.append(categoryScheme.categoryName(c)).append(": ");
+            if (categories.count(c) == 0) {
+                sb.append("no grades");
+                continue;
+            }
+            sb.append(df.format(categories.mean(c)));
+            int dropped = categories.count(c) - categories.kept(c);
+            if (dropped > 0) sb.append(" (lowest ").append(dropped).append(" dropped)");
+        }
+        return sb.append("</html>").toString();
+    }
+
+    private String letterOf(double avg) {
+        return gradebook.scale().letterOf(avg);
+    }
+
+    private double toGpa(double avg) {
+        return gradebook.scale().gpaOf(avg);
+    }
+
+    private JPanel card(String title) {
+        JPanel wrap = new Theme.ShadowPanel(new BorderLayout());
+
+        JPanel card = new JPanel(new BorderLayout());
+        card.setOpaque(true);
+        card.setBackground(UIManager.getColor("nimbusLightBackground"));
+        card.setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        JLabel h = new JLabel(title);
+        h.setFont(h.getFont().deriveFont(Font.BOLD, 18f));
+        h.setForeground(Color.WHITE);
+        h.setBorder(new EmptyBorder(0, 0, 16, 0));
+        card.add(h, BorderLayout.NORTH);
+
+        wrap.add(card, BorderLayout.CENTER);
+        return wrap;
+    }
+
+    private JLabel chip(String text) {
+        JLabel chip = new JLabel(text, SwingConstants.CENTER);
+        chip.setOpaque(true);
+        chip.setBackground(Theme.CHIP_BG);
+        chip.setForeground(Color.WHITE);
+        chip.setBorder(new EmptyBorder(8,12,8,12));
+        return chip;
+    }
+
+    private JButton primary(String text, ActionListener al) {
+        JButton b = new JButton(text);
+        b.addActionListener(al);
+        b.setFocusPainted(false);
+        b.setBackground(Theme.ACCENT);
+        b.setForeground(Color.WHITE);
+        
+        b.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(Theme.ACCENT, 2, true),
+            new EmptyBorder(8, 14, 8, 14)
+        ));
+        
+        b.addMouseListener(new MouseAdapter() {
+            @Override public void mouseEntered(MouseEvent e) {
+                b.setBackground(Theme.ACCENT_HOVER);
+            }
+            @Override public void mouseExited(MouseEvent e) {
+                b.setBackground(Theme.ACCENT);
+            }
+        });
+        return b;
+    }
+
+    private JButton ghost(String text, ActionListener al) {
+        JButton b = new JButton(text);
+        b.addActionListener(al);
+        b.setFocusPainted(false);
+        b.setForeground(Color.WHITE);
+        b.setBackground(Theme.GHOST_BG);
+        
+        b.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(Theme.GHOST_BORDER, 1, true),
+                new EmptyBorder(8,14,8,14)));
+        
+        b.addMouseListener(new MouseAdapter() {
+            @Override public void mouseEntered(MouseEvent e) {
+                b.setBackground(Theme.GHOST_HOVER);
+            }
+            @Override public void mouseExited(MouseEvent e) {
+                b.setBackground(Theme.GHOST_BG);
+            }
+        });
+        return b;
+    }
+
+    private Icon makeBrandIcon(int size, Color a, Color b) {
+        int s = size;
+        BufferedImage img = new BufferedImage(s, s, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setPaint(new GradientPaint(0, 0, a, s, s, b));
+        g.fillRoundRect(0, 0, s, s, s/3, s/3);
+        g.dispose();
+        return new ImageIcon(img);
+    }
+
+    private JLabel big(String text) {
+        JLabel l = new JLabel(text);
+        l.setFont(l.getFont().deriveFont(Font.BOLD, 24f));
+        l.setForeground(Color.WHITE);
+        return l;
+    }
+
+    private JPanel tile(String title, JComponent center) {
+        JPanel p = new JPanel(new BorderLayout());
+        p.setOpaque(true);
+        p.setBackground(UIManager.getColor("nimbusLightBackground"));
+        p.setBorder(new EmptyBorder(16,16,16,16));
+        JLabel t = new JLabel(title);
+        t.setForeground(Color.WHITE);
+        t.setFont(t.getFont().deriveFont(Font.BOLD, 14f));
+        p.add(t, BorderLayout.NORTH);
+        p.add(center, BorderLayout.CENTER);
+        return p;
+    }
+
+    /** Leaves the label alone, with no property events or relayout, if the text is unchanged. */
+    private static void setText(JLabel label, String text) {
+        if (!text.equals(label.getText())) label.setText(text);
+    }
+
+    private void toast(String msg) {
+        toaster.show(msg);
+    }
+
+    private void refreshHeader() {
+        GradeEvents.Refresh event = new GradeEvents.Refresh();
+        event.begin();
+        long start = System.nanoTime();
+        double m = mean();
+        setText(headerAvg, "Avg: " + df.format(m));
+        setText(headerLetter, letterOf(m));
+        setText(headerGpa, "GPA: " + df.format(toGpa(m)));
+        if (averageUpdater != null) {
+            averageStale = !averageCard.isShowing();
+            if (!averageStale) averageUpdater.accept(m);
+        }
+        if (scopeSummary != null) {
+            setText(scopeSummary, selectedStudent + " overall: " + df.format(gradebook.studentAverage(selectedStudent))
+                    + " (GPA " + df.format(gradebook.studentGpa(selectedStudent)) + ")  •  "
+                    + selectedCourse + " class avg: " + df.format(gradebook.courseAverage(selectedCourse)));
+        }
+        metrics.refresh.record(System.nanoTime() - start);
+        event.grades = grades.size();
+        event.commit();
+    }
+}
@@ -0,0 +1,118 @@
+package gradecalc.swing;
+
+import gradecalc.core.GradeCategories;
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradeView;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+
+/**
+ * Table model for the "Your grades" card.
+ *
+ * Cells never format during a repaint: score labels are cached per
+ * fixed-point value (there are only 10,001 of them), and row-number labels
+ * sit in a small direct-mapped cache keyed by row, so a viewport full of
+ * rows is served without allocating. Rows come through a {@link GradeView},
+ * so sorting and range filtering are index lookups rather than a
+ * TableRowSorter comparing boxed rows. The view reports each store mutation
+ * with the narrowest event available so JTable keeps its selection and only
+ * relays out the affected rows. The "#" column shows a grade's position in
+ * the store, so it stays put while the view is sorted or filtered. With
+ * {@link GradeCategories} set, a third column names each grade's category.
+ */
+public final class GradeTableModel extends AbstractTableModel implements GradeView.Listener {
+
+    private static final String[] COLUMNS = {"#", "Score"};
+    private static final String[] CATEGORY_COLUMNS = {"#", "Score", "Category"};
+    private static final String[] SCORE_LABELS = new String[GradeStore.MAX_FIXED + 1];
+
+    private static final int ROW_CACHE = 512; // power of two, comfortably more than a screenful
+    private final int[] cachedRows = new int[ROW_CACHE];
+    private final String[] rowLabels = new String[ROW_CACHE];
+
+    private final GradeView view;
+    private GradeCategories categories;
+
+    public GradeTableModel(GradeStore grades) {
+        view = new GradeView(grades);
+        view.setListener(this);
+        Arrays.fill(cachedRows, -1);
+    }
+
+    /** Sort order and score range of the rows shown. */
+    public GradeView view() { return view; }
+
+    // ---------- TableModel ----------
+
+    @Override public int getRowCount() { return view.size(); }
+    @Override public int getColumnCount() { return columns().length; }
+    @Override public String getColumnName(int c) { return columns()[c]; }
+    @Override public Class<?> getColumnClass(int c) { return String.class; }
+    @Override public boolean isCellEditable(int r, int c) { return false; }
+
+    @Override public Object getValueAt(int r, int c) {
+        int index = view.storeIndex(r);
+        return switch (c) {
+            case 0 -> rowLabel(index);
+            case 1 -> scoreLabel(view.store().getFixed(index));
+            default -> categories.scheme().categoryName(categories.category(index));
+        };
+    }
+
+    private String[] columns() { return categories == null ? COLUMNS : CATEGORY_COLUMNS; }
+
+    // ---------- Change notifications ----------
+
+    /** Shows a different store, e.g. after another student or course is selected. */
+    public void setStore(GradeStore store) {
+        view.setStore(store);
+    }
+
+    /** Categories of the store shown, or null to hide the category column. */
+    public void setCategories(GradeCategories categories) {
+        boolean columnsChange = (categories == null) != (this.categories == null);
+        this.categories = categories;
+        if (columnsChange) fireTableStructureChanged();
+        else fireTableDataChanged();
+    }
+
+    /** Reports the mutations made by {@code work} as one event, e.g. for a bulk import. */
+    public void batch(Runnable work) {
+        view.beginBatch();
+        try {
+            work.run();
+        } finally {
+            view.endBatch();
+        }
+    }
+
+    @Override public void rowsInserted(int first, int last) { fireTableRowsInserted(first, last); }
+    @Override public void rowsDeleted(int first, int last) { fireTableRowsDeleted(first, last); }
+    @Override public void rowsUpdated(int first, int last) { fireTableRowsUpdated(first, last); }
+    @Override public void viewReset() { fireTableDataChanged(); }
+
+    // ---------- Labels ----------
+
+    /** Formats a fixed-point score like {@code #0.##}: 9250 -> "92.5". */
+    public static String scoreLabel(int fixed) {
+        String label = SCORE_LABELS[fixed];
+        if (label == null) {
+            int whole = fixed / GradeStore.SCALE, frac = fixed % GradeStore.SCALE;
+            if (frac == 0) label = Integer.toString(whole);
+            else if (frac % 10 == 0) label = whole + "." + (frac / 10);
+            else label = whole + (frac < 10 ? ".0" : ".") + frac;
+            SCORE_LABELS[fixed] = label;
+        }
+        return label;
+    }
+
+    private String rowLabel(int row) {
+        int slot = row & (ROW_CACHE - 1);
+        if (cachedRows[slot] != row) {
+            cachedRows[slot] = row;
+            rowLabels[slot] = Integer.toString(row + 1);
+        }
+        return rowLabels[slot];
+    }
+}
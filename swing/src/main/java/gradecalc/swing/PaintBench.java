@@ -0,0 +1,91 @@
+package gradecalc.swing;
+
+import gradecalc.core.GradeStore;
+
+import javax.swing.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Headless paint-cost benchmark for the Swing calculator's custom painting.
+ *
+ * Renders the header, a card and a scrolled grades table into an offscreen
+ * image and reports time and allocated bytes per frame. Run with:
+ *
+ *     java -Djava.awt.headless=true -cp swing/target/grade-swing.jar gradecalc.swing.PaintBench [frames]
+ */
+public final class PaintBench {
+
+    private static final int WIDTH = 900, HEIGHT = 560;
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        SwingUtilities.invokeAndWait(() -> run(frames));
+    }
+
+    private static void run(int frames) {
+        try {
+            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
+        } catch (Exception ignored) {}
+        Theme.installDarkDefaults();
+
+        BufferedImage img = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+
+        JPanel header = new Theme.GradientPanel(new BorderLayout());
+        header.add(new JLabel("Grade Calculator"), BorderLayout.WEST);
+
+        JPanel card = new Theme.ShadowPanel(new BorderLayout());
+        JPanel inner = new JPanel(new BorderLayout());
+        inner.setBackground(Theme.CARD_BG);
+        inner.add(new JLabel("Average"), BorderLayout.NORTH);
+        card.add(inner, BorderLayout.CENTER);
+
+        GradeStore store = new GradeStore();
+        for (int i = 0; i < 100_000; i++) store.addFixed((i * 7919) % (GradeStore.MAX_FIXED + 1));
+        JTable table = new JTable(new GradeTableModel(store));
+        table.setRowHeight(28);
+        table.setDefaultRenderer(Object.class, new Theme.StripedRenderer());
+
+        System.out.printf("%-8s %12s %14s%n", "target", "us/frame", "bytes/frame");
+        report("header", header, 0, img, frames);
+        report("card", card, 0, img, frames);
+        report("table", table, 28, img, frames);
+    }
+
+    /** Paints {@code c} repeatedly; a non-zero {@code scrollStep} shifts the visible rows each frame. */
+    private static void report(String name, JComponent c, int scrollStep, BufferedImage img, int frames) {
+        c.setSize(WIDTH, scrollStep == 0 ? HEIGHT : Integer.MAX_VALUE / 4);
+        layout(c);
+
+        Graphics2D g = img.createGraphics();
+        for (int i = 0; i < frames; i++) paintFrame(c, g, i, scrollStep); // warm-up
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long bytes0 = mx.getThreadAllocatedBytes(tid);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < frames; i++) paintFrame(c, g, i, scrollStep);
+        long t1 = System.nanoTime();
+        long bytes1 = mx.getThreadAllocatedBytes(tid);
+        g.dispose();
+
+        System.out.printf("%-8s %12.1f %14d%n", name, (t1 - t0) / 1e3 / frames, (bytes1 - bytes0) / frames);
+    }
+
+    private static void paintFrame(JComponent c, Graphics2D g, int frame, int scrollStep) {
+        int y = scrollStep * (frame % 5000);
+        g.translate(0, -y);
+        g.setClip(0, y, WIDTH, HEIGHT);
+        c.paint(g);
+        g.translate(0, y);
+    }
+
+    private static void layout(Component c) {
+        c.doLayout();
+        if (c instanceof Container parent) {
+            for (Component child : parent.getComponents()) layout(child);
+        }
+    }
+}
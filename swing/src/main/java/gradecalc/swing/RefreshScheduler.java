@@ -0,0 +1,43 @@
+package gradecalc.swing;
+
+import javax.swing.Timer;
+
+/**
+ * Coalesces refresh requests so a burst of mutations redraws the summary
+ * widgets once per frame rather than once per grade.
+ *
+ * The first request after a flush arms a one-shot timer for whatever is
+ * left of the current frame; further requests before it fires are free.
+ * An isolated edit is therefore shown on the next event-queue turn, and a
+ * stream of them at no more than {@link #FRAME_MS}-millisecond intervals.
+ * EDT only.
+ */
+final class RefreshScheduler {
+
+    static final int FRAME_MS = 16;   // ~60 Hz
+
+    private final Runnable flush;
+    private final Timer timer;
+    private boolean pending;
+    private long lastFlush;
+
+    RefreshScheduler(Runnable flush) {
+        this.flush = flush;
+        timer = new Timer(FRAME_MS, e -> run());
+        timer.setRepeats(false);
+    }
+
+    void request() {
+        if (pending) return;
+        pending = true;
+        long sinceMs = (System.nanoTime() - lastFlush) / 1_000_000;
+        timer.setInitialDelay((int) Math.max(0, FRAME_MS - sinceMs));
+        timer.restart();
+    }
+
+    private void run() {
+        pending = false;
+        lastFlush = System.nanoTime();
+        flush.run();
+    }
+}
@@ -0,0 +1,32 @@
+package gradecalc.swing;
+
+import gradecalc.core.LatencyHistogram;
+
+/**
+ * Timings for the metrics card, gathered on the EDT as the session runs:
+ * how long each ingestion, summary refresh and table paint took, and how
+ * many grades were ingested in that time. The same operations are also
+ * committed as {@link gradecalc.core.GradeEvents} for Flight Recorder.
+ */
+final class SessionMetrics {
+
+    final LatencyHistogram ingest = new LatencyHistogram();
+    final LatencyHistogram refresh = new LatencyHistogram();
+    final LatencyHistogram paint = new LatencyHistogram();
+
+    private long grades;
+    private long ingestNanos;
+
+    void ingested(int added, long nanos) {
+        ingest.record(nanos);
+        grades += added;
+        ingestNanos += nanos;
+    }
+
+    long grades() { return grades; }
+
+    /** Grades added per second of ingestion work; 0 before the first. */
+    double gradesPerSecond() {
+        return ingestNanos == 0 ? 0 : grades * 1e9 / ingestNanos;
+    }
+}
@@ -0,0 +1,76 @@
+package gradecalc.swing;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase-by-phase startup timings for {@code --profile-startup}.
+ *
+ * Each {@link #mark} closes the phase that began at the previous mark. The
+ * report covers JVM launch to the first paint of the window, then the work
+ * deferred until after it, and is printed to stderr once that is done.
+ * When disabled every call is a no-op, so the timer calls can stay in the
+ * startup code. EDT only, apart from the marks made in {@code main}.
+ */
+final class StartupProfile {
+
+    static final StartupProfile OFF = new StartupProfile(false);
+
+    private final boolean enabled;
+    private final List<String> phases = new ArrayList<>();
+    private final List<Long> nanos = new ArrayList<>();
+    private long last = System.nanoTime();
+    private long launchNanos;               // JVM start to start()
+    private int critical = -1;              // phases up to the first paint
+
+    private StartupProfile(boolean enabled) { this.enabled = enabled; }
+
+    /** Starts timing; the time from JVM launch to this call is reported as one phase. */
+    static StartupProfile start() {
+        StartupProfile p = new StartupProfile(true);
+        p.launchNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+        p.last = System.nanoTime();          // loading the MXBean is the profiler's own cost
+        return p;
+    }
+
+    boolean enabled() { return enabled; }
+
+    /** Ends the current phase under {@code phase}. */
+    void mark(String phase) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        phases.add(phase);
+        nanos.add(now - last);
+        last = now;
+    }
+
+    /** Ends the phase that the first paint completes; later marks are deferred work. */
+    void firstPaint() {
+        if (!enabled || critical >= 0) return;
+        mark("first paint");
+        critical = phases.size();
+    }
+
+    void print() {
+        if (!enabled) return;
+        StringBuilder sb = new StringBuilder("Startup profile (ms)\n");
+        long total = launchNanos;
+        row(sb, "JVM launch to main", total);
+        int upTo = critical < 0 ? phases.size() : critical;
+        for (int i = 0; i < upTo; i++) {
+            total += nanos.get(i);
+            row(sb, phases.get(i), nanos.get(i));
+        }
+        row(sb, "= window painted", total);
+        if (upTo < phases.size()) {
+            sb.append("  after the first paint:\n");
+            for (int i = upTo; i < phases.size(); i++) row(sb, phases.get(i), nanos.get(i));
+        }
+        System.err.print(sb);
+    }
+
+    private static void row(StringBuilder sb, String phase, long nanos) {
+        sb.append(String.format("  %-26s %8.1f%n", phase, nanos / 1e6));
+    }
+}
@@ -0,0 +1,152 @@
+package gradecalc.swing;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+
+/**
+ * Shared palette and the custom-painted pieces of the Swing calculator.
+ *
+ * Every color is a constant and every paint or shape is cached on the
+ * component and rebuilt only when its size changes, so repainting (e.g.
+ * while scrolling the grades table) does not allocate.
+ */
+public final class Theme {
+
+    // ---------- Palette ----------
+    public static final Color WINDOW_BG = new Color(0x1E2B2D);
+    public static final Color CARD_BG = new Color(0x2B3B3F);
+    public static final Color ROW_ALT = new Color(0x324346);
+    public static final Color GRID = new Color(0x3A4A4D);
+    public static final Color BRAND = new Color(0x0F766E);
+    public static final Color ACCENT = new Color(0x19A7A1);
+    public static final Color ACCENT_HOVER = new Color(0x12807C);
+    public static final Color INSTRUCTION_TEXT = new Color(0xE0FDFC);
+    public static final Color TEXT = Color.WHITE;
+    public static final Color WARNING = new Color(0xFBBF24);
+
+    public static final Color INSTRUCTION_BG = new Color(255, 255, 255, 25);
+    public static final Color CHIP_BG = new Color(255, 255, 255, 32);
+    public static final Color GHOST_BG = new Color(0, 0, 0, 60);
+    public static final Color GHOST_HOVER = new Color(0, 0, 0, 100);
+    public static final Color GHOST_BORDER = new Color(255, 255, 255, 100);
+    public static final Color SHADOW = new Color(0, 0, 0, 70);
+    public static final Color TOAST_BG = new Color(0, 0, 0, 180);
+
+    private Theme() {}
+
+    /** Dark Nimbus overrides; call after the look and feel is installed. */
+    public static void installDarkDefaults() {
+        UIManager.put("control", WINDOW_BG);             // window bg
+        UIManager.put("nimbusLightBackground", CARD_BG);  // cards/table bg
+        UIManager.put("Label.foreground", TEXT);          // all labels white
+        UIManager.put("text", TEXT);
+    }
+
+    // ---------- Painted components ----------
+
+    /** Header bar filled with the brand gradient. */
+    public static class GradientPanel extends JPanel {
+        private GradientPaint paint;
+        private int paintW = -1, paintH = -1;
+
+        public GradientPanel(LayoutManager layout) { super(layout); }
+
+        @Override protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            int w = getWidth(), h = getHeight();
+            if (w != paintW || h != paintH) {
+                paint = new GradientPaint(0, 0, BRAND, w, h, ACCENT);
+                paintW = w;
+                paintH = h;
+            }
+            Graphics2D g2 = (Graphics2D) g;
+            Paint old = g2.getPaint();
+            g2.setPaint(paint);
+            g2.fillRect(0, 0, w, h);
+            g2.setPaint(old);
+        }
+    }
+
+    /** Transparent wrapper that paints a soft rounded shadow behind a card. */
+    public static class ShadowPanel extends JPanel {
+        private static final int PAD = 6, ARC = 24;
+        private final RoundRectangle2D.Float shape = new RoundRectangle2D.Float();
+        private int shapeW = -1, shapeH = -1;
+
+        public ShadowPanel(LayoutManager layout) {
+            super(layout);
+            setOpaque(false);
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            int w = getWidth(), h = getHeight();
+            if (w != shapeW || h != shapeH) {
+                shape.setRoundRect(PAD, PAD, w - PAD * 2, h - PAD * 2, ARC, ARC);
+                shapeW = w;
+                shapeH = h;
+            }
+            Graphics2D g2 = (Graphics2D) g;
+            Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+            Color old = g2.getColor();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(SHADOW);
+            g2.fill(shape);
+            g2.setColor(old);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa != null ? aa : RenderingHints.VALUE_ANTIALIAS_DEFAULT);
+        }
+    }
+
+    /** Zebra-striped cell renderer for the grades table. */
+    public static class StripedRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                c.setBackground(row % 2 == 0 ? CARD_BG : ROW_ALT);
+                c.setForeground(TEXT);
+            }
+            return c;
+        }
+    }
+
+    /** Bar chart of histogram bins, scaled to the tallest bin. */
+    public static class HistogramBars extends JComponent {
+        private static final int GAP = 4;
+        private final int[] bins;
+        private int peak;
+
+        public HistogramBars(int binCount) {
+            bins = new int[binCount];
+            setPreferredSize(new Dimension(120, 40));
+        }
+
+        public void setBins(int[] counts) {
+            int newPeak = 0;
+            boolean changed = false;
+            for (int i = 0; i < bins.length; i++) {
+                if (bins[i] != counts[i]) { bins[i] = counts[i]; changed = true; }
+                newPeak = Math.max(newPeak, counts[i]);
+            }
+            peak = newPeak;
+            if (changed) repaint();
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            if (peak == 0) return;
+            int w = getWidth(), h = getHeight(), n = bins.length;
+            int barW = Math.max(1, (w - GAP * (n - 1)) / n);
+            Color old = g.getColor();
+            g.setColor(ACCENT);
+            for (int i = 0; i < n; i++) {
+                int barH = (int) ((long) bins[i] * h / peak);
+                if (barH == 0 && bins[i] > 0) barH = 1;
+                g.fillRect(i * (barW + GAP), h - barH, barW, barH);
+            }
+            g.setColor(old);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package gradecalc.swing;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Transient notifications in the corner of a frame, all shown in one
+ * reused window.
+ *
+ * Messages queue up (a few at most; the oldest waiting one is dropped when
+ * full) and each is shown for at least {@link #MIN_MS} before the next
+ * replaces it, so bursts are rate-limited rather than stacked. A message
+ * made only of counts, like "Added 5 • Skipped 2", merges with the one
+ * showing or waiting if that one is made of counts too: "Added 5" then
+ * "Added 3" shows as "Added 8". Repeating any other message just keeps it up.
+ * EDT only.
+ */
+final class Toaster {
+
+    static final int DISPLAY_MS = 1400;
+    static final int MIN_MS = 600;
+    private static final int MAX_PENDING = 4;
+    private static final String SEPARATOR = " • ";
+    private static final Pattern COUNT = Pattern.compile("(\\D*\\S) (\\d{1,9})");
+
+    private final JFrame owner;
+    private final ArrayDeque<String> pending = new ArrayDeque<>(MAX_PENDING);
+    private final Timer timer = new Timer(DISPLAY_MS, e -> advance());
+    private JWindow window;
+    private JLabel label;
+    private String showing;               // null while hidden
+    private long shownAt;
+
+    Toaster(JFrame owner) {
+        this.owner = owner;
+        timer.setRepeats(false);
+    }
+
+    void show(String message) {
+        if (showing != null) {
+            String merged = merge(showing, message);
+            if (merged != null) {
+                display(merged);              // same slot, restarts its time on screen
+                return;
+            }
+            String last = pending.peekLast();
+            merged = last == null ? null : merge(last, message);
+            if (merged != null) {
+                pending.removeLast();
+                pending.addLast(merged);
+            } else {
+                if (pending.size() == MAX_PENDING) pending.removeFirst();
+                pending.addLast(message);
+            }
+            schedule();
+            return;
+        }
+        display(message);
+    }
+
+    private void advance() {
+        String next = pending.pollFirst();
+        if (next != null) {
+            display(next);
+        } else {
+            window.setVisible(false);
+            showing = null;
+        }
+    }
+
+    private void display(String message) {
+        if (window == null) {
+            window = new JWindow(owner);
+            label = new JLabel();
+            label.setBorder(new EmptyBorder(10, 14, 10, 14));
+            label.setForeground(Color.WHITE);
+            label.setOpaque(true);
+            label.setBackground(Theme.TOAST_BG);
+            window.add(label);
+        }
+        if (!message.equals(showing)) {
+            label.setText(message);
+            window.pack();
+        }
+        showing = message;
+        shownAt = System.nanoTime();
+        if (owner.isShowing()) {
+            Point p = owner.getLocationOnScreen();
+            window.setLocation(p.x + owner.getWidth() - window.getWidth() - 24, p.y + owner.getHeight() - window.getHeight() - 48);
+            window.setVisible(true);
+        }
+        schedule();
+    }
+
+    /** Full display time if nothing is waiting, otherwise just what is left of the minimum. */
+    private void schedule() {
+        int delay = DISPLAY_MS;
+        if (!pending.isEmpty()) {
+            long shownMs = (System.nanoTime() - shownAt) / 1_000_000;
+            delay = (int) Math.max(0, MIN_MS - shownMs);
+        }
+        timer.setInitialDelay(delay);
+        timer.restart();
+    }
+
+    /** {@code a} and {@code b} as one message, or null if they can't be combined. */
+    static String merge(String a, String b) {
+        if (a.equals(b) && !isTally(a)) return a;
+        String[] as = a.split(SEPARATOR), bs = b.split(SEPARATOR);
+        if (!isTally(as) || !isTally(bs)) return null;
+        String[] labels = new String[as.length + bs.length];
+        long[] counts = new long[labels.length];
+        int n = 0;
+        for (String part : as) n = add(labels, counts, n, part);
+        for (String part : bs) n = add(labels, counts, n, part);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(labels[i]).append(' ').append(counts[i]);
+        }
+        return sb.toString();
+    }
+
+    private static int add(String[] labels, long[] counts, int n, String part) {
+        Matcher m = COUNT.matcher(part);
+        m.matches();
+        for (int i = 0; i < n; i++) {
+            if (labels[i].equals(m.group(1))) {
+                counts[i] += Long.parseLong(m.group(2));
+                return n;
+            }
+        }
+        labels[n] = m.group(1);
+        counts[n] = Long.parseLong(m.group(2));
+        return n + 1;
+    }
+
+    private static boolean isTally(String message) {
+        return isTally(message.split(SEPARATOR));
+    }
+
+    private static boolean isTally(String[] parts) {
+        for (String part : parts) {
+            if (!COUNT.matcher(part).matches()) return false;
+        }
+        return true;
+    }
+}
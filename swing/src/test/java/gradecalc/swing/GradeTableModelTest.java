@@ -0,0 +1,71 @@
+package gradecalc.swing;
+
+import gradecalc.core.CategoryScheme;
+import gradecalc.core.GradeCategories;
+import gradecalc.core.GradeStore;
+import gradecalc.core.GradeView;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeTableModelTest {
+
+    @Test
+    void scoreLabelsMatchDecimalFormat() {
+        DecimalFormat df = new DecimalFormat("#0.##");
+        for (int fixed = 0; fixed <= GradeStore.MAX_FIXED; fixed++) {
+            assertEquals(df.format(BigDecimal.valueOf(fixed, 2)), GradeTableModel.scoreLabel(fixed));
+        }
+    }
+
+    @Test
+    void reportsTheNarrowestEvent() {
+        GradeStore store = new GradeStore();
+        GradeTableModel model = new GradeTableModel(store);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        store.add(80);
+        store.add(90);
+        assertEquals(2, events.size());
+        assertEquals(TableModelEvent.INSERT, events.get(1).getType());
+        assertEquals(1, events.get(1).getFirstRow());
+
+        events.clear();
+        model.batch(() -> {
+            for (int i = 0; i < 100; i++) store.add(70);
+        });
+        assertEquals(1, events.size());                              // one event for the whole batch
+        assertEquals(2, events.get(0).getFirstRow());
+        assertEquals(101, events.get(0).getLastRow());
+
+        events.clear();
+        store.set(0, 85);
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstRow());
+    }
+
+    @Test
+    void rowsFollowTheViewAndKeepTheirNumber() {
+        GradeStore store = new GradeStore();
+        for (double g : new double[]{70, 95.5, 80}) store.add(g);
+        GradeTableModel model = new GradeTableModel(store);
+        model.view().setOrder(GradeView.Order.DESCENDING);
+        assertEquals("2", model.getValueAt(0, 0));
+        assertEquals("95.5", model.getValueAt(0, 1));
+        assertEquals("1", model.getValueAt(2, 0));
+
+        assertEquals(2, model.getColumnCount());
+        GradeCategories categories = new GradeCategories(CategoryScheme.STANDARD, store);
+        model.setCategories(categories);
+        assertEquals(3, model.getColumnCount());
+        assertEquals("Homework", model.getValueAt(0, 2));
+    }
+}
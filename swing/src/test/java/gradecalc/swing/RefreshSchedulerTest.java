@@ -0,0 +1,29 @@
+package gradecalc.swing;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshSchedulerTest {
+
+    @Test
+    void aBurstOfRequestsRefreshesOnce() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        RefreshScheduler[] scheduler = new RefreshScheduler[1];
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler[0] = new RefreshScheduler(flushes::incrementAndGet);
+            for (int i = 0; i < 1000; i++) scheduler[0].request();
+        });
+        Thread.sleep(RefreshScheduler.FRAME_MS * 12L);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, flushes.get());
+
+        SwingUtilities.invokeAndWait(() -> scheduler[0].request());      // a later request is not lost
+        Thread.sleep(RefreshScheduler.FRAME_MS * 12L);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(2, flushes.get());
+    }
+}